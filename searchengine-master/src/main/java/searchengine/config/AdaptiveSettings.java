@@ -0,0 +1,17 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class AdaptiveSettings {
+    private int minLimit = 1;
+    private int maxLimit = 16;
+    private double backoffRatio = 0.5;
+    private double latencyTolerance = 2.0;
+    private int maxRetries = 3;
+    private long maxRetryAfter = 300;
+}
@@ -0,0 +1,15 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BudgetSettings {
+    private int maxDepth = 0;
+    private int maxPages = 0;
+    private long maxBytes = 0;
+    private long maxDuration = 0;
+}
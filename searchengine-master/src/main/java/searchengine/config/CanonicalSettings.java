@@ -0,0 +1,24 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CanonicalSettings {
+    private List<String> stripParams = new ArrayList<>(List.of("utm_*", "gclid", "yclid", "fbclid",
+            "msclkid", "_openstat"));
+    private List<String> keepParams = new ArrayList<>();
+    private boolean sortParams = true;
+    private boolean dropQuery = false;
+    private boolean useRelCanonical = true;
+    private List<String> indexFiles = new ArrayList<>(List.of("index.html", "index.htm", "index.php",
+            "default.htm", "default.aspx"));
+    private boolean lowercasePath = false;
+    private boolean trailingSlash = true;
+}
@@ -0,0 +1,13 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CheckpointSettings {
+    private String directory = "checkpoints";
+    private long interval = 60;
+}
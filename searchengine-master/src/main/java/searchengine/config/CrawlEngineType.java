@@ -0,0 +1,7 @@
+package searchengine.config;
+
+public enum CrawlEngineType {
+    FORK_JOIN,
+    VIRTUAL_THREADS,
+    PIPELINE
+}
@@ -0,0 +1,39 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.crawler")
+public class CrawlerSettings {
+    private CrawlEngineType engine = CrawlEngineType.FORK_JOIN;
+    private boolean incremental = false;
+    private boolean respectRobots = true;
+    private boolean useSitemaps = true;
+    private int maxSitemapUrls = 50000;
+    private int maxBodySize = 5 * 1024 * 1024;
+    private int maxResourceSize = 50 * 1024 * 1024;
+    private List<String> contentTypes = new ArrayList<>(List.of("text/html", "application/xhtml+xml"));
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxConcurrentFetches = 64;
+    private int maxFetchesPerHost = 4;
+    private int lemmatizerThreads = Runtime.getRuntime().availableProcessors();
+    private int lemmatizerQueueSize = 100;
+    private int writerThreads = 8;
+    private PipelineSettings pipeline = new PipelineSettings();
+    private VisitedSettings visited = new VisitedSettings();
+    private CheckpointSettings checkpoint = new CheckpointSettings();
+    private BudgetSettings budget = new BudgetSettings();
+    private AdaptiveSettings adaptive = new AdaptiveSettings();
+    private DuplicateSettings duplicates = new DuplicateSettings();
+    private CanonicalSettings canonical = new CanonicalSettings();
+    private HttpSettings http = new HttpSettings();
+    private ExtractorSettings extractor = new ExtractorSettings();
+}
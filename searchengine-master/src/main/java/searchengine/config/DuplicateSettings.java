@@ -0,0 +1,14 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class DuplicateSettings {
+    private boolean enabled = true;
+    private int maxDistance = 3;
+    private int shingleSize = 3;
+}
@@ -0,0 +1,17 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExtractorSettings {
+    private boolean enabled = true;
+    private double maxLinkDensity = 0.33;
+    private int minWords = 3;
+    private int templateMinPages = 5;
+    private double templateRatio = 0.5;
+    private int maxTemplateBlocks = 200000;
+}
@@ -0,0 +1,18 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class HttpSettings {
+    private String userAgent = "SEARCH_BOT";
+    private String robotsAgent;
+    private String referrer = "http://www.google.com";
+    private boolean http2 = true;
+    private boolean compression = true;
+    private long connectTimeout = 10000;
+    private long readTimeout = 30000;
+}
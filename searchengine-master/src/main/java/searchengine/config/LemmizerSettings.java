@@ -0,0 +1,18 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings.lemmizer")
+public class LemmizerSettings {
+    private long cacheSize = 200000;
+    private int parallelThreshold = 256 * 1024;
+    private int chunkSize = 64 * 1024;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long flushInterval = 5;
+}
@@ -0,0 +1,16 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PipelineSettings {
+    private int fetchWorkers = 32;
+    private int parseWorkers = Runtime.getRuntime().availableProcessors();
+    private int lemmatizeWorkers = Runtime.getRuntime().availableProcessors();
+    private int persistWorkers = 4;
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,14 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PolitenessSettings {
+    private double requestsPerSecond = 5;
+    private int burst = 1;
+    private long minDelay = 100;
+}
@@ -2,12 +2,17 @@ package searchengine.config;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Setter
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class Site {
     private String url;
     private String name;
+    private PolitenessSettings politeness = new PolitenessSettings();
+    private BudgetSettings budget;
+    private CanonicalSettings canonical;
 }
@@ -0,0 +1,14 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class VisitedSettings {
+    private long memoryBudget = 32L * 1024 * 1024;
+    private boolean bloomFilter = true;
+    private long bloomFilterSize = 4L * 1024 * 1024;
+}
@@ -35,6 +35,11 @@ public class ApiController {
         return indexingService.startIndexingSync();
     }
 
+    @GetMapping("/resumeIndexing")
+    public ResponseEntity<?> resumeIndexing() {
+        return indexingService.resumeIndexingSync();
+    }
+
     @GetMapping("/stopIndexing")
     public ResponseEntity<?> stopIndexing() {
         return indexingService.stopIndexingSites();
@@ -0,0 +1,104 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import searchengine.config.CrawlerSettings;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class CheckpointService {
+    private static final int VERSION = 1;
+    private final CrawlerSettings crawlerSettings;
+
+    public CheckpointService(CrawlerSettings crawlerSettings) {
+        this.crawlerSettings = crawlerSettings;
+    }
+
+    public void save(CrawlContext context) {
+        CrawlCheckpoint checkpoint = context.checkpoint();
+        if (checkpoint == null) {
+            return;
+        }
+        Path file = getFile(checkpoint.getSiteId());
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(VERSION);
+                out.writeInt(checkpoint.getPending().size());
+                for (Map.Entry<String, Integer> entry : checkpoint.getPending().entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+                out.writeInt(checkpoint.getVisited().length);
+                for (long fingerprint : checkpoint.getVisited()) {
+                    out.writeLong(fingerprint);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Сохранена контрольная точка " + context.getRootUrl() + ": в очереди "
+                    + checkpoint.getPending().size() + ", посещено " + checkpoint.getVisited().length);
+        } catch (IOException e) {
+            log.error("Не удалось сохранить контрольную точку для " + context.getRootUrl(), e);
+        }
+    }
+
+    public CrawlCheckpoint load(String siteId) {
+        Path file = getFile(siteId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                return null;
+            }
+            int pendingCount = in.readInt();
+            Map<String, Integer> pending = new HashMap<>();
+            for (int i = 0; i < pendingCount; i++) {
+                pending.put(in.readUTF(), in.readInt());
+            }
+            long[] visited = new long[in.readInt()];
+            for (int i = 0; i < visited.length; i++) {
+                visited[i] = in.readLong();
+            }
+            return new CrawlCheckpoint(siteId, pending, visited);
+        } catch (IOException e) {
+            log.error("Не удалось прочитать контрольную точку " + file, e);
+            return null;
+        }
+    }
+
+    public void delete(String siteId) {
+        try {
+            Files.deleteIfExists(getFile(siteId));
+        } catch (IOException e) {
+            log.warn("Не удалось удалить контрольную точку для " + siteId + ": " + e.getMessage());
+        }
+    }
+
+    public void deleteAll() {
+        Path directory = Path.of(crawlerSettings.getCheckpoint().getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.ckpt")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось удалить контрольные точки в " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private Path getFile(String siteId) {
+        return Path.of(crawlerSettings.getCheckpoint().getDirectory(), siteId + ".ckpt");
+    }
+}
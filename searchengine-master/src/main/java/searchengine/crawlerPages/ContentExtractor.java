@@ -0,0 +1,208 @@
+package searchengine.crawlerPages;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.ExtractorSettings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ContentExtractor {
+    private static final String NOISE_SELECTOR = "script, style, noscript, template, iframe, svg, form, nav, footer, aside, "
+            + "[role=navigation], [role=banner], [role=contentinfo], [aria-hidden=true]";
+    private static final double MAX_NOISE_SHARE = 0.3;
+    private static final String NOISE_PATTERN = "(?i).*(cookie|breadcrumb|navbar|menu|sidebar|footer|social|share|popup|modal|banner|advert).*";
+    private static final Set<String> BLOCK_TAGS = Set.of("html", "body", "main", "article", "section", "div", "p",
+            "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "li", "dl", "dt", "dd", "table", "tr", "td", "th",
+            "blockquote", "pre", "figure", "figcaption", "address");
+    private static final Set<String> HEADING_TAGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+    private final ExtractorSettings settings;
+    private final Map<String, SiteTemplate> templates = new ConcurrentHashMap<>();
+
+    public ContentExtractor(CrawlerSettings crawlerSettings) {
+        this.settings = crawlerSettings.getExtractor();
+    }
+
+    public String extract(String site, Document document) {
+        return analyze(site, document).text();
+    }
+
+    // pageText зависит только от самой страницы; text дополнительно очищен от шаблона сайта,
+    // который накапливается в порядке обхода.
+    public Extraction analyze(String site, Document document) {
+        Element body = document.body();
+        if (!settings.isEnabled() || body == null) {
+            String text = body == null ? "" : body.text();
+            return new Extraction(text, text);
+        }
+        Element root = body.clone();
+        root.select("> header").remove();
+        removeNoise(root, NOISE_SELECTOR);
+        removeNoise(root, "[class~=" + NOISE_PATTERN + "], [id~=" + NOISE_PATTERN + "]");
+        Element main = root.selectFirst("main, article, [role=main]");
+        List<Block> blocks = collectBlocks(main != null && main.text().length() > 0 ? main : root);
+
+        SiteTemplate template = templates.computeIfAbsent(site, it -> new SiteTemplate());
+        template.register(blocks);
+        StringBuilder text = new StringBuilder();
+        StringBuilder pageText = new StringBuilder();
+        for (Block block : blocks) {
+            if (block.isContent()) {
+                append(pageText, block);
+                if (!template.isTemplate(block)) {
+                    append(text, block);
+                }
+            }
+        }
+        return new Extraction(text.isEmpty() ? body.text() : text.toString(),
+                pageText.isEmpty() ? body.text() : pageText.toString());
+    }
+
+    public void reset(String site) {
+        templates.remove(site);
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    private static void append(StringBuilder text, Block block) {
+        if (!text.isEmpty()) {
+            text.append(' ');
+        }
+        text.append(block.text);
+    }
+
+    private void removeNoise(Element root, String selector) {
+        int totalLength = root.text().length();
+        for (Element element : root.select(selector)) {
+            if (element != root && element.parent() != null
+                    && element.text().length() <= totalLength * MAX_NOISE_SHARE) {
+                element.remove();
+            }
+        }
+    }
+
+    private List<Block> collectBlocks(Element root) {
+        List<Block> blocks = new ArrayList<>();
+        Deque<Block> stack = new ArrayDeque<>();
+        stack.push(new Block(root.normalName()));
+        AtomicInteger linkDepth = new AtomicInteger();
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode textNode) {
+                    String text = textNode.text().trim();
+                    if (!text.isEmpty()) {
+                        stack.peek().append(text, linkDepth.get() > 0);
+                    }
+                } else if (node instanceof Element element && depth > 0) {
+                    if (element.normalName().equals("a")) {
+                        linkDepth.incrementAndGet();
+                    } else if (BLOCK_TAGS.contains(element.normalName())) {
+                        stack.push(new Block(element.normalName()));
+                    }
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (node instanceof Element element && depth > 0) {
+                    if (element.normalName().equals("a")) {
+                        linkDepth.decrementAndGet();
+                    } else if (BLOCK_TAGS.contains(element.normalName())) {
+                        finish(stack.pop(), blocks);
+                    }
+                }
+            }
+        }, root);
+        finish(stack.pop(), blocks);
+        return blocks;
+    }
+
+    private void finish(Block block, List<Block> blocks) {
+        if (block.text.length() > 0) {
+            blocks.add(block);
+        }
+    }
+
+    private class Block {
+        private final boolean heading;
+        private final StringBuilder text = new StringBuilder();
+        private int linkChars;
+        private int words;
+
+        Block(String tag) {
+            this.heading = HEADING_TAGS.contains(tag);
+        }
+
+        void append(String value, boolean link) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(value);
+            if (link) {
+                linkChars += value.length();
+            }
+            words += value.split("\\s+").length;
+        }
+
+        boolean isContent() {
+            double linkDensity = (double) linkChars / text.length();
+            return linkDensity <= settings.getMaxLinkDensity() && (heading || words >= settings.getMinWords());
+        }
+
+        long fingerprint() {
+            return VisitedUrlSet.fingerprint(text.toString().toLowerCase());
+        }
+    }
+
+    public record Extraction(String text, String pageText) {
+    }
+
+    private class SiteTemplate {
+        private final Map<Long, AtomicInteger> blockPages = new ConcurrentHashMap<>();
+        private final AtomicInteger pages = new AtomicInteger();
+
+        void register(List<Block> blocks) {
+            pages.incrementAndGet();
+            Set<Long> seen = new HashSet<>();
+            for (Block block : blocks) {
+                long fingerprint = block.fingerprint();
+                if (!seen.add(fingerprint)) {
+                    continue;
+                }
+                AtomicInteger count = blockPages.get(fingerprint);
+                if (count == null && blockPages.size() < settings.getMaxTemplateBlocks()) {
+                    count = blockPages.computeIfAbsent(fingerprint, it -> new AtomicInteger());
+                }
+                if (count != null) {
+                    count.incrementAndGet();
+                }
+            }
+        }
+
+        boolean isTemplate(Block block) {
+            int pageCount = pages.get();
+            if (pageCount < settings.getTemplateMinPages()) {
+                return false;
+            }
+            AtomicInteger count = blockPages.get(block.fingerprint());
+            return count != null && count.get() > 1 && count.get() >= pageCount * settings.getTemplateRatio();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package searchengine.crawlerPages;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+public class CrawlCheckpoint {
+    private final String siteId;
+    private final Map<String, Integer> pending;
+    private final long[] visited;
+}
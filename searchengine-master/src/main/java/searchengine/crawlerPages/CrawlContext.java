@@ -0,0 +1,232 @@
+package searchengine.crawlerPages;
+
+import lombok.Getter;
+import searchengine.config.BudgetSettings;
+import searchengine.config.CanonicalSettings;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.Site;
+import searchengine.dto.objects.PageDto;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Getter
+public class CrawlContext {
+    private final Site site;
+    private final String siteId;
+    private final AtomicBoolean indexingActive;
+    private final VisitedUrlSet visited;
+    private Map<String, PageDto> knownPages = Collections.emptyMap();
+    private RobotsRules robotsRules = RobotsRules.ALLOW_ALL;
+    private List<String> sitemapUrls = Collections.emptyList();
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private Map<String, Integer> resumedFrontier = Collections.emptyMap();
+    private boolean resumed;
+    private boolean released;
+    private final BudgetSettings budget;
+    private final AtomicInteger fetchedPages = new AtomicInteger();
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+    private volatile boolean budgetExhausted;
+    private volatile String budgetReached;
+    private final DuplicateIndex duplicates;
+    private final CanonicalSettings canonicalSettings;
+    private final UrlCanonicalizer canonicalizer;
+    private final String canonicalRoot;
+    private final String origin;
+
+    public CrawlContext(Site site, String siteId, AtomicBoolean indexingActive, CrawlerSettings crawlerSettings) {
+        this.site = site;
+        this.siteId = siteId;
+        this.indexingActive = indexingActive;
+        this.visited = new VisitedUrlSet(crawlerSettings.getVisited());
+        this.budget = site.getBudget() != null ? site.getBudget() : crawlerSettings.getBudget();
+        this.duplicates = new DuplicateIndex(crawlerSettings.getDuplicates().getMaxDistance());
+        this.canonicalSettings = site.getCanonical() != null ? site.getCanonical() : crawlerSettings.getCanonical();
+        this.canonicalizer = new UrlCanonicalizer(canonicalSettings);
+        String root = canonicalizer.canonicalize(site.getUrl());
+        this.canonicalRoot = root == null ? site.getUrl() : root;
+        URI rootUri = URI.create(canonicalRoot);
+        this.origin = rootUri.getScheme() + "://" + rootUri.getRawAuthority();
+    }
+
+    public String canonicalize(String url) {
+        return canonicalizer.canonicalize(url);
+    }
+
+    public boolean isSameSite(String url) {
+        return url.startsWith(origin + "/");
+    }
+
+    public String getRootUrl() {
+        return site.getUrl();
+    }
+
+    public void setKnownPages(Map<String, PageDto> knownPages) {
+        this.knownPages = knownPages;
+    }
+
+    public void setRobotsRules(RobotsRules robotsRules) {
+        this.robotsRules = robotsRules;
+    }
+
+    public void setSitemapUrls(List<String> sitemapUrls) {
+        this.sitemapUrls = sitemapUrls;
+    }
+
+    public PageDto findKnownPage(String path) {
+        return knownPages.get(path);
+    }
+
+    public boolean isRoot(String url) {
+        return canonicalRoot.equals(url);
+    }
+
+    public Map<String, Integer> getSeeds() {
+        Map<String, Integer> seeds = new LinkedHashMap<>();
+        if (!resumedFrontier.isEmpty()) {
+            seeds.putAll(resumedFrontier);
+            return seeds;
+        }
+        seeds.put(canonicalRoot, 0);
+        sitemapUrls.forEach(url -> seeds.putIfAbsent(url, 0));
+        for (String path : knownPages.keySet()) {
+            String url = canonicalize(origin + path);
+            if (url != null) {
+                seeds.putIfAbsent(url, 0);
+            }
+        }
+        return seeds;
+    }
+
+    public void restore(CrawlCheckpoint checkpoint, Collection<String> requeuedPaths) {
+        Map<String, Integer> frontier = new HashMap<>(checkpoint.getPending());
+        for (String path : requeuedPaths) {
+            String url = canonicalize(origin + path);
+            if (url != null) {
+                frontier.putIfAbsent(url, 0);
+            }
+        }
+        Set<Long> pendingFingerprints = new HashSet<>();
+        frontier.keySet().forEach(url -> pendingFingerprints.add(VisitedUrlSet.fingerprint(url)));
+        for (long fingerprint : checkpoint.getVisited()) {
+            if (!pendingFingerprints.contains(fingerprint)) {
+                visited.add(fingerprint);
+            }
+        }
+        resumedFrontier = frontier;
+        resumed = true;
+    }
+
+    public synchronized CrawlCheckpoint checkpoint() {
+        if (released) {
+            return null;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            long[] visitedSnapshot = visited.toArray();
+            return new CrawlCheckpoint(siteId, new HashMap<>(pending), visitedSnapshot);
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    public synchronized void release() {
+        released = true;
+        visited.release();
+        pending.clear();
+    }
+
+    public boolean isActive() {
+        if (budget.getMaxDuration() > 0
+                && System.currentTimeMillis() - startTime > budget.getMaxDuration() * 1000) {
+            reachBudget("Превышено время обхода: " + budget.getMaxDuration() + " с");
+        }
+        return indexingActive.get() && !budgetExhausted;
+    }
+
+    public boolean isStopped() {
+        return !indexingActive.get();
+    }
+
+    // Бюджет ограничивает только новые запросы: страница, место под которую уже занято, обрабатывается до конца.
+    public boolean reserveFetch() {
+        if (!isActive()) {
+            return false;
+        }
+        int maxPages = budget.getMaxPages();
+        if (maxPages <= 0) {
+            return true;
+        }
+        int pages = fetchedPages.getAndUpdate(count -> count < maxPages ? count + 1 : count);
+        if (pages + 1 >= maxPages) {
+            reachBudget("Достигнут лимит страниц: " + maxPages);
+        }
+        return pages < maxPages;
+    }
+
+    public void recordFetch(long bytes) {
+        long totalBytes = fetchedBytes.addAndGet(bytes);
+        if (budget.getMaxBytes() > 0 && totalBytes >= budget.getMaxBytes()) {
+            reachBudget("Достигнут лимит объёма: " + budget.getMaxBytes() + " байт");
+        }
+    }
+
+    private synchronized void reachBudget(String reason) {
+        if (!budgetExhausted) {
+            budgetReached = reason;
+            budgetExhausted = true;
+        }
+    }
+
+    public boolean isAllowed(String url) {
+        try {
+            URI uri = URI.create(url);
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return robotsRules.isAllowed(uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public boolean markVisited(String url, int depth) {
+        if (budget.getMaxDepth() > 0 && depth > budget.getMaxDepth()) {
+            return false;
+        }
+        if (budgetExhausted || !isAllowed(url)) {
+            return false;
+        }
+        snapshotLock.readLock().lock();
+        try {
+            if (!visited.add(url)) {
+                return false;
+            }
+            pending.put(url, depth);
+            return true;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    public boolean markCanonical(String url) {
+        return !budgetExhausted && isAllowed(url) && visited.add(url);
+    }
+
+    public void markDone(String url) {
+        pending.remove(url);
+    }
+}
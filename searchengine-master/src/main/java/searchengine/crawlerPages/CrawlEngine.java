@@ -0,0 +1,15 @@
+package searchengine.crawlerPages;
+
+import searchengine.config.CrawlEngineType;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface CrawlEngine {
+    CrawlEngineType getType();
+
+    void start();
+
+    CompletableFuture<TaskResult> crawl(CrawlContext context);
+
+    void stop();
+}
@@ -0,0 +1,157 @@
+package searchengine.crawlerPages;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.HttpSettings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+@Slf4j
+@Component
+public class CrawlerHttpClient {
+    private final HttpSettings settings;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public CrawlerHttpClient(CrawlerSettings crawlerSettings) {
+        this.settings = crawlerSettings.getHttp();
+        this.client = HttpClient.newBuilder()
+                .version(settings.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeout()))
+                .executor(executor)
+                .build();
+    }
+
+    // Тело читается в память не больше maxBodySize байт; read-timeout ограничивает весь обмен,
+    // включая чтение тела, и по его истечении запрос отменяется.
+    public CrawlerResponse get(String url, Map<String, String> headers, long maxBodySize,
+                               Predicate<Map<String, String>> acceptBody) throws IOException {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Некорректный адрес: " + url, e);
+        }
+        request.timeout(Duration.ofMillis(settings.getReadTimeout()))
+                .header("User-Agent", settings.getUserAgent())
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .GET();
+        if (settings.getReferrer() != null && !settings.getReferrer().isEmpty()) {
+            request.header("Referer", settings.getReferrer());
+        }
+        if (settings.isCompression()) {
+            request.header("Accept-Encoding", "gzip, deflate");
+        }
+        headers.forEach(request::header);
+        HttpResponse.BodyHandler<byte[]> bodyHandler = info -> info.statusCode() / 100 == 2
+                && acceptBody.test(toMap(info.headers()))
+                ? new BoundedBodySubscriber(maxBodySize)
+                : HttpResponse.BodySubscribers.replacing(null);
+        CompletableFuture<HttpResponse<byte[]>> exchange = client.sendAsync(request.build(), bodyHandler);
+        try {
+            HttpResponse<byte[]> response = exchange.get(settings.getReadTimeout(), TimeUnit.MILLISECONDS);
+            return new CrawlerResponse(response.uri().toString(), response.statusCode(),
+                    toMap(response.headers()), response.body());
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new HttpTimeoutException("Превышено время чтения " + settings.getReadTimeout() + " мс: " + url);
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Запрос прерван: " + url);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Ошибка запроса " + url, e.getCause());
+        }
+    }
+
+    private static Map<String, String> toMap(HttpHeaders headers) {
+        Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.map().forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                result.put(name, values.get(0));
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class BoundedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+        private final long limit;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        BoundedBodySubscriber(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                int length = (int) Math.min(buffer.remaining(), limit - body.size());
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                body.writeBytes(bytes);
+                if (body.size() >= limit) {
+                    subscription.cancel();
+                    result.complete(body.toByteArray());
+                    return;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(body.toByteArray());
+        }
+    }
+}
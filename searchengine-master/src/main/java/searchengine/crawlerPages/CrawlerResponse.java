@@ -0,0 +1,71 @@
+package searchengine.crawlerPages;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class CrawlerResponse implements Closeable {
+    @Getter
+    private final String uri;
+    @Getter
+    private final int statusCode;
+    @Getter
+    private final Map<String, String> headers;
+    private final byte[] bytes;
+    private final InputStream rawBody;
+    private InputStream body;
+
+    public CrawlerResponse(String uri, int statusCode, Map<String, String> headers, byte[] bytes) {
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.bytes = bytes;
+        this.rawBody = new ByteArrayInputStream(bytes == null ? new byte[0] : bytes);
+    }
+
+    public boolean hasBody() {
+        return bytes != null;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public String getCharset() {
+        String contentType = headers.get("Content-Type");
+        if (contentType == null) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String[] pair = param.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("charset")) {
+                return pair[1].trim().replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            String encoding = headers.getOrDefault("Content-Encoding", "identity").trim().toLowerCase(Locale.ROOT);
+            body = switch (encoding) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(rawBody);
+                case "deflate" -> new InflaterInputStream(rawBody);
+                default -> rawBody;
+            };
+        }
+        return body;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rawBody.close();
+    }
+}
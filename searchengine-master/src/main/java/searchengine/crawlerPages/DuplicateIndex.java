@@ -0,0 +1,80 @@
+package searchengine.crawlerPages;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DuplicateIndex {
+    private final int maxDistance;
+    private final int[] shifts;
+    private final long[] masks;
+    private final List<Map<Long, List<Entry>>> blocks = new ArrayList<>();
+
+    public DuplicateIndex(int maxDistance) {
+        this.maxDistance = maxDistance;
+        int blockCount = Math.min(maxDistance + 1, 64);
+        shifts = new int[blockCount];
+        masks = new long[blockCount];
+        int shift = 0;
+        for (int i = 0; i < blockCount; i++) {
+            int width = 64 / blockCount + (i < 64 % blockCount ? 1 : 0);
+            shifts[i] = shift;
+            masks[i] = width == 64 ? -1L : (1L << width) - 1;
+            shift += width;
+            blocks.add(new HashMap<>());
+        }
+    }
+
+    public synchronized Long find(long simHash) {
+        if (maxDistance >= 64) {
+            return blocks.get(0).values().stream()
+                    .flatMap(List::stream)
+                    .findFirst()
+                    .map(entry -> entry.pageId)
+                    .orElse(null);
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            List<Entry> candidates = blocks.get(i).get(block(simHash, i));
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry entry : candidates) {
+                if (SimHash.distance(entry.simHash, simHash) <= maxDistance) {
+                    return entry.pageId;
+                }
+            }
+        }
+        return null;
+    }
+
+    public synchronized void add(long simHash, long pageId) {
+        Entry entry = new Entry(simHash, pageId);
+        for (int i = 0; i < blocks.size(); i++) {
+            blocks.get(i).computeIfAbsent(block(simHash, i), it -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    public synchronized void remove(long simHash, long pageId) {
+        for (int i = 0; i < blocks.size(); i++) {
+            List<Entry> candidates = blocks.get(i).get(block(simHash, i));
+            if (candidates != null) {
+                candidates.removeIf(entry -> entry.pageId == pageId);
+            }
+        }
+    }
+
+    private long block(long simHash, int index) {
+        return (simHash >>> shifts[index]) & masks[index];
+    }
+
+    private static class Entry {
+        private final long simHash;
+        private final long pageId;
+
+        Entry(long simHash, long pageId) {
+            this.simHash = simHash;
+            this.pageId = pageId;
+        }
+    }
+}
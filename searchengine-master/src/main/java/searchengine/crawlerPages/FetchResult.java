@@ -0,0 +1,37 @@
+package searchengine.crawlerPages;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jsoup.nodes.Document;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+public class FetchResult {
+    private final String url;
+    private final int statusCode;
+    private final Map<String, String> headers;
+    private final Document document;
+    private final long bodySize;
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+
+    public boolean hasDocument() {
+        return document != null;
+    }
+
+    public FetchResult withUrl(String url) {
+        return new FetchResult(url, statusCode, headers, document, bodySize);
+    }
+
+    public FetchResult withoutDocument() {
+        return new FetchResult(url, statusCode, headers, null, bodySize);
+    }
+}
@@ -0,0 +1,126 @@
+package searchengine.crawlerPages;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlEngineType;
+import searchengine.config.CrawlerSettings;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ForkJoinCrawlEngine implements CrawlEngine {
+    private final CrawlerSettings crawlerSettings;
+    private final PageProcessor pageProcessor;
+    private ForkJoinPool pool;
+
+    public ForkJoinCrawlEngine(CrawlerSettings crawlerSettings, PageProcessor pageProcessor) {
+        this.crawlerSettings = crawlerSettings;
+        this.pageProcessor = pageProcessor;
+    }
+
+    @Override
+    public CrawlEngineType getType() {
+        return CrawlEngineType.FORK_JOIN;
+    }
+
+    @Override
+    public void start() {
+        pool = new ForkJoinPool(crawlerSettings.getParallelism());
+    }
+
+    @Override
+    public CompletableFuture<TaskResult> crawl(CrawlContext context) {
+        SiteCrawl siteCrawl = new SiteCrawl(context);
+        siteCrawl.submitSeeds(context.getSeeds());
+        return siteCrawl.result;
+    }
+
+    @Override
+    public void stop() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Getter
+    class SiteCrawl {
+        private final CrawlContext context;
+        private final PageProcessor pageProcessor = ForkJoinCrawlEngine.this.pageProcessor;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+        private volatile TaskResult rootResult = new TaskResult(true, null);
+
+        SiteCrawl(CrawlContext context) {
+            this.context = context;
+        }
+
+        void submitSeeds(Map<String, Integer> seeds) {
+            pending.incrementAndGet();
+            seeds.forEach(this::submit);
+            complete();
+        }
+
+        // Задержка вежливости и лимит хоста ожидаются асинхронно: задача попадает в пул
+        // только когда запрос можно отправить, и поток пула не паркуется в ожидании.
+        void submit(String url, int level) {
+            if (!context.markVisited(url, level)) {
+                return;
+            }
+            pending.incrementAndGet();
+            if (!context.reserveFetch()) {
+                complete();
+                return;
+            }
+            try {
+                pageProcessor.fetchAsync(context, url, pool).whenComplete((fetchResult, e) -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RejectedExecutionException) {
+                        complete();
+                        return;
+                    }
+                    if (cause != null) {
+                        fail(url, cause);
+                        finish(url);
+                        return;
+                    }
+                    try {
+                        pool.execute(new SiteMapTask(url, level, fetchResult, this));
+                    } catch (RejectedExecutionException rejected) {
+                        complete();
+                    }
+                });
+            } catch (Exception e) {
+                fail(url, e);
+                finish(url);
+            }
+        }
+
+        void fail(String url, Throwable e) {
+            if (e instanceof RejectedExecutionException) {
+                return;
+            }
+            log.error("Ошибка при обработке URL: " + url, e);
+            if (context.isRoot(url)) {
+                rootResult = new TaskResult(false, e.getMessage());
+            }
+        }
+
+        void finish(String url) {
+            context.markDone(url);
+            complete();
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0) {
+                result.complete(rootResult);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package searchengine.crawlerPages;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.AdaptiveSettings;
+import searchengine.config.CrawlerSettings;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class HostConcurrencyLimiter {
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double BASELINE_DRIFT = 0.01;
+    private final CrawlerSettings crawlerSettings;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+    public HostConcurrencyLimiter(CrawlerSettings crawlerSettings, MeterRegistry meterRegistry) {
+        this.crawlerSettings = crawlerSettings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CompletableFuture<Void> acquire(String url) {
+        return getLimit(url).acquire();
+    }
+
+    public void release(String url, int statusCode, long latencyNanos) {
+        getLimit(url).release(statusCode, latencyNanos);
+    }
+
+    public void cancel(String url) {
+        getLimit(url).release(0, 0);
+    }
+
+    public void reset() {
+        limits.values().forEach(HostLimit::unregister);
+        limits.clear();
+    }
+
+    private HostLimit getLimit(String url) {
+        return limits.computeIfAbsent(getHost(url), HostLimit::new);
+    }
+
+    private static String getHost(String url) {
+        String host = URI.create(url).getHost();
+        return host == null ? url : host.toLowerCase();
+    }
+
+    private static boolean isOverloaded(int statusCode) {
+        return statusCode == 429 || statusCode == 503 || statusCode < 0;
+    }
+
+    private class HostLimit {
+        private final AdaptiveSettings settings = crawlerSettings.getAdaptive();
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private final List<Gauge> gauges = new ArrayList<>();
+        private final String host;
+        private double limit;
+        private int inFlight;
+        private double latency;
+        private double baseline;
+        private long lastBackoff;
+
+        HostLimit(String host) {
+            this.host = host;
+            this.limit = Math.max(settings.getMinLimit(),
+                    Math.min(crawlerSettings.getMaxFetchesPerHost(), settings.getMaxLimit()));
+            gauges.add(Gauge.builder("crawler.host.concurrency", this, HostLimit::getLimit)
+                    .tag("host", host)
+                    .register(meterRegistry));
+            gauges.add(Gauge.builder("crawler.host.in-flight", this, HostLimit::getInFlight)
+                    .tag("host", host)
+                    .register(meterRegistry));
+        }
+
+        synchronized double getLimit() {
+            return limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            if (inFlight < (int) limit) {
+                inFlight++;
+                permit.complete(null);
+            } else {
+                waiters.add(permit);
+            }
+            return permit;
+        }
+
+        void release(int statusCode, long latencyNanos) {
+            List<CompletableFuture<Void>> granted = new ArrayList<>();
+            synchronized (this) {
+                inFlight--;
+                if (latencyNanos > 0) {
+                    adjust(statusCode, latencyNanos);
+                }
+                while (inFlight < (int) limit && !waiters.isEmpty()) {
+                    inFlight++;
+                    granted.add(waiters.poll());
+                }
+            }
+            granted.forEach(permit -> permit.complete(null));
+        }
+
+        private void adjust(int statusCode, long latencyNanos) {
+            if (isOverloaded(statusCode)) {
+                backoff("HTTP " + statusCode);
+                return;
+            }
+            if (latency == 0) {
+                latency = latencyNanos;
+                baseline = latencyNanos;
+            } else {
+                latency += (latencyNanos - latency) * LATENCY_SMOOTHING;
+                baseline = Math.min(latency, baseline + (latency - baseline) * BASELINE_DRIFT);
+            }
+            if (latency > baseline * settings.getLatencyTolerance()) {
+                backoff("рост задержки");
+            } else {
+                limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+            }
+        }
+
+        private void backoff(String reason) {
+            long now = System.nanoTime();
+            if (now - lastBackoff < latency) {
+                return;
+            }
+            lastBackoff = now;
+            limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+            log.info("Снижение параллельности для {} до {} ({})", host, (int) limit, reason);
+        }
+
+        void unregister() {
+            gauges.forEach(meterRegistry::remove);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.dto.objects.PageDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+@Slf4j
+@Component
+public class PageFetcher {
+    private static final long DEFAULT_RETRY_DELAY = 1000;
+    private final PolitenessScheduler politenessScheduler;
+    private final HostConcurrencyLimiter concurrencyLimiter;
+    private final CrawlerSettings crawlerSettings;
+    private final CrawlerHttpClient httpClient;
+    private final Semaphore fetchPermits;
+
+    public PageFetcher(PolitenessScheduler politenessScheduler, HostConcurrencyLimiter concurrencyLimiter,
+                       CrawlerSettings crawlerSettings, CrawlerHttpClient httpClient) {
+        this.politenessScheduler = politenessScheduler;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.crawlerSettings = crawlerSettings;
+        this.httpClient = httpClient;
+        this.fetchPermits = new Semaphore(crawlerSettings.getMaxConcurrentFetches());
+    }
+
+    public FetchResult fetch(String url) throws IOException {
+        return fetch(url, null);
+    }
+
+    public FetchResult fetch(String url, PageDto knownPage) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            reserve(url).join();
+            FetchResult result = exchange(url, knownPage, attempt);
+            if (result != null) {
+                return result;
+            }
+        }
+    }
+
+    public CompletableFuture<FetchResult> fetchAsync(String url, PageDto knownPage, Executor executor) {
+        return fetchAsync(url, knownPage, executor, 0);
+    }
+
+    private CompletableFuture<FetchResult> fetchAsync(String url, PageDto knownPage, Executor executor, int attempt) {
+        return reserve(url)
+                .thenApplyAsync(it -> {
+                    try {
+                        return exchange(url, knownPage, attempt);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .thenCompose(result -> result != null
+                        ? CompletableFuture.completedFuture(result)
+                        : fetchAsync(url, knownPage, executor, attempt + 1));
+    }
+
+    private CompletableFuture<Void> reserve(String url) {
+        return concurrencyLimiter.acquire(url).thenCompose(it -> politenessScheduler.acquire(url));
+    }
+
+    private FetchResult exchange(String url, PageDto knownPage, int attempt) throws IOException {
+        try {
+            fetchPermits.acquire();
+        } catch (InterruptedException e) {
+            concurrencyLimiter.cancel(url);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Запрос прерван: " + url);
+        }
+        try {
+            return send(url, knownPage, attempt);
+        } finally {
+            fetchPermits.release();
+        }
+    }
+
+    private FetchResult send(String url, PageDto knownPage, int attempt) throws IOException {
+        long start = System.nanoTime();
+        CrawlerResponse response;
+        try {
+            response = httpClient.get(url, getConditionalHeaders(knownPage), crawlerSettings.getMaxBodySize(),
+                    responseHeaders -> isAcceptable(url, responseHeaders));
+        } catch (IOException e) {
+            concurrencyLimiter.release(url, -1, System.nanoTime() - start);
+            throw e;
+        }
+        String finalUrl = response.getUri();
+        int statusCode = response.getStatusCode();
+        Map<String, String> headers = response.getHeaders();
+        if (statusCode >= 400 || statusCode == 304 || !response.hasBody()) {
+            discard(response);
+            concurrencyLimiter.release(url, statusCode, System.nanoTime() - start);
+            if ((statusCode == 429 || statusCode == 503) && attempt < crawlerSettings.getAdaptive().getMaxRetries()) {
+                long delay = getRetryDelay(headers.get("Retry-After"), attempt);
+                log.warn("Сервер вернул {} для {}, повтор через {} мс", statusCode, url, delay);
+                politenessScheduler.pause(url, delay);
+                return null;
+            }
+            if (statusCode >= 400) {
+                throw new HttpStatusException("HTTP error fetching URL", statusCode, url);
+            }
+            return new FetchResult(finalUrl, statusCode, headers, null, 0);
+        }
+        try (response; BoundedInputStream body = new BoundedInputStream(response.getBody(), crawlerSettings.getMaxBodySize())) {
+            Document document = Jsoup.parse(body, response.getCharset(), finalUrl);
+            if (body.isTruncated()) {
+                log.warn("Страница {} обрезана до {} байт", url, crawlerSettings.getMaxBodySize());
+            }
+            return new FetchResult(finalUrl, statusCode, headers, document, body.getCount());
+        } finally {
+            concurrencyLimiter.release(url, statusCode, System.nanoTime() - start);
+        }
+    }
+
+    private void discard(CrawlerResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private boolean isAcceptable(String url, Map<String, String> headers) {
+        String contentType = headers.get("Content-Type");
+        if (contentType != null) {
+            String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if (!crawlerSettings.getContentTypes().contains(mimeType)) {
+                log.info("Пропущена страница {}: тип содержимого {}", url, mimeType);
+                return false;
+            }
+        }
+        String contentLength = headers.get("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > crawlerSettings.getMaxBodySize()) {
+                    log.info("Пропущена страница {}: размер {} байт", url, contentLength.trim());
+                    return false;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return true;
+    }
+
+    private Map<String, String> getConditionalHeaders(PageDto knownPage) {
+        Map<String, String> headers = new HashMap<>();
+        if (knownPage != null && knownPage.getEtag() != null) {
+            headers.put("If-None-Match", knownPage.getEtag());
+        }
+        if (knownPage != null && knownPage.getLastModified() != null) {
+            headers.put("If-Modified-Since", knownPage.getLastModified());
+        }
+        return headers;
+    }
+
+    private long getRetryDelay(String retryAfter, int attempt) {
+        long maxDelay = TimeUnit.SECONDS.toMillis(crawlerSettings.getAdaptive().getMaxRetryAfter());
+        long delay = DEFAULT_RETRY_DELAY << attempt;
+        if (retryAfter != null && !retryAfter.isBlank()) {
+            try {
+                delay = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    delay = Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis();
+                } catch (DateTimeParseException ignored) {
+                }
+            }
+        }
+        return Math.max(0, Math.min(delay, maxDelay));
+    }
+
+    public String fetchResource(String url) throws IOException {
+        reserve(url).join();
+        long limit = crawlerSettings.getMaxResourceSize();
+        long start = System.nanoTime();
+        int statusCode = -1;
+        byte[] body;
+        try (CrawlerResponse response = httpClient.get(url, Map.of(), limit, responseHeaders -> true)) {
+            statusCode = response.getStatusCode();
+            if (statusCode != 200) {
+                return null;
+            }
+            body = readBounded(url, response.getBody(), limit);
+        } finally {
+            concurrencyLimiter.release(url, statusCode, System.nanoTime() - start);
+        }
+        if (url.endsWith(".gz")) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = readBounded(url, in, limit);
+            }
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBounded(String url, InputStream in, long limit) throws IOException {
+        BoundedInputStream bounded = new BoundedInputStream(in, limit);
+        byte[] body = bounded.readAllBytes();
+        if (bounded.isTruncated()) {
+            log.warn("Ресурс {} обрезан до {} байт", url, limit);
+        }
+        return body;
+    }
+
+    private static class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+        private boolean truncated;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (count >= limit) {
+                truncated = true;
+                return -1;
+            }
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (count >= limit) {
+                truncated = true;
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, limit - count));
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, limit - count));
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -3,9 +3,6 @@ package searchengine.crawlerPages;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import searchengine.config.Site;
@@ -17,7 +14,7 @@ import searchengine.model.Status;
 import searchengine.services.PageCRUDService;
 import searchengine.services.SiteCRUDService;
 import java.io.IOException;
-import java.net.URL;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -34,16 +31,23 @@ public class PageIndexer {
     @Autowired
     private SitesList sitesList;
     private final Lemmizer lemmizer;
-    private static final String USER_AGENT = "SEARCH_BOT";
+    private final PageFetcher pageFetcher;
+    private final PageProcessor pageProcessor;
+    private final ContentExtractor contentExtractor;
     private String errorMessage = null;
     private boolean success = true;
     private List<Site> listOfSite;
 
-    public PageIndexer(SiteMapManager siteMapManager, PageCRUDService pageCRUDService, SiteCRUDService siteCRUDService, Lemmizer lemmizer) {
+    public PageIndexer(SiteMapManager siteMapManager, PageCRUDService pageCRUDService, SiteCRUDService siteCRUDService,
+                       Lemmizer lemmizer, PageFetcher pageFetcher, PageProcessor pageProcessor,
+                       ContentExtractor contentExtractor) {
         this.siteMapManager = siteMapManager;
         this.pageCRUDService = pageCRUDService;
         this.siteCRUDService = siteCRUDService;
         this.lemmizer = lemmizer;
+        this.pageFetcher = pageFetcher;
+        this.pageProcessor = pageProcessor;
+        this.contentExtractor = contentExtractor;
     }
 
     public void indexPage(String url) throws Exception {
@@ -79,6 +83,7 @@ public class PageIndexer {
         if (isHostExist) {
             SiteDto dto = siteCRUDService.findByUrlSiteDto(url);
             siteCRUDService.delete(UUID.fromString(dto.getId()));
+            contentExtractor.reset(url.substring(0, url.length() - 1));
         }
     }
 
@@ -99,51 +104,27 @@ public class PageIndexer {
         return sitesList.getSites().stream().anyMatch(it -> it.getUrl().equals(url));
     }
 
-    private String getHostName(URL url) {
-        return url.getProtocol() + "://" + url.getHost() + "/";
+    private String getHostName(URI url) {
+        return url.getScheme() + "://" + url.getHost() + "/";
     }
 
-    private String getPagePath(String url) {
-        return getUrl(url).getPath();
-    }
-
-    private URL getUrl(String url) {
-        URL urlAsURL = null;
+    private URI getUrl(String url) {
+        URI urlAsURI = null;
         try {
-            urlAsURL = new URL(url);
-        } catch (Exception e) {
+            urlAsURI = URI.create(url);
+        } catch (IllegalArgumentException e) {
             System.err.println("Ошибка при обработке URL: " + e.getMessage());
         }
-        return urlAsURL;
-    }
-
-    private Connection.Response getResponse(String url) throws IOException {
-        Connection.Response response = null;
-        try {
-            response = Jsoup.connect(url).execute();
-        } catch (Exception e) {
-            System.err.println("Ошбика получение response: " + url + " " + e.getMessage());
-        }
-        return response;
-    }
-
-    private Document getDocument(String url) throws IOException {
-        Document doc = null;
-        try {
-            doc = Jsoup.connect(url).userAgent(USER_AGENT).referrer("http://www.google.com").get();
-        } catch (IOException ex) {
-            System.err.println("Ошибка при получении Document " + ex.getMessage());
-        }
-        return doc;
+        return urlAsURI;
     }
 
     private PageDto initializationPageDto(String url) throws IOException {
-        URL urlAsUrl = getUrl(url);
-        PageDto pageDto = new PageDto();
-        pageDto.setSite(getHostName(urlAsUrl));//Корневой url
-        pageDto.setCode(getResponse(url).statusCode());
-        pageDto.setContent(getDocument(url).body().text());
-        pageDto.setPath(getPagePath(url));
+        FetchResult fetchResult = pageFetcher.fetch(url);
+        if (!fetchResult.hasDocument()) {
+            throw new IOException("Страница не является HTML-документом: " + url);
+        }
+        PageDto pageDto = pageProcessor.createPageDto(fetchResult);
+        pageDto.setSite(getHostName(getUrl(url)));//Корневой url
 
         return pageDto;
     }
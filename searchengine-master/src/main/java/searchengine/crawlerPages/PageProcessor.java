@@ -0,0 +1,245 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.DuplicateSettings;
+import searchengine.dto.objects.PageDto;
+import searchengine.lemmizer.Lemmizer;
+import searchengine.model.PageModel;
+import searchengine.services.PageCRUDService;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Component
+public class PageProcessor {
+    private final PageCRUDService pageCRUDService;
+    private final Lemmizer lemmizer;
+    private final PageFetcher pageFetcher;
+    private final CrawlerSettings crawlerSettings;
+    private final ContentExtractor contentExtractor;
+
+    public PageProcessor(PageCRUDService pageCRUDService, Lemmizer lemmizer, PageFetcher pageFetcher,
+                         CrawlerSettings crawlerSettings, ContentExtractor contentExtractor) {
+        this.pageCRUDService = pageCRUDService;
+        this.lemmizer = lemmizer;
+        this.pageFetcher = pageFetcher;
+        this.crawlerSettings = crawlerSettings;
+        this.contentExtractor = contentExtractor;
+    }
+
+    public FetchResult fetch(CrawlContext context, String url) throws Exception {
+        PageDto knownPage = context.findKnownPage(getPagePath(URI.create(url)));
+        FetchResult fetchResult;
+        try {
+            fetchResult = pageFetcher.fetch(url, knownPage);
+            if (fetchResult.isNotModified() && !loadLinks(knownPage)) {
+                fetchResult = pageFetcher.fetch(url, null);
+            }
+        } catch (HttpStatusException e) {
+            handleClientError(context, knownPage, e.getStatusCode());
+            throw e;
+        }
+        context.recordFetch(fetchResult.getBodySize());
+        return applyRelCanonical(context, applyRedirect(context, url, fetchResult));
+    }
+
+    public CompletableFuture<FetchResult> fetchAsync(CrawlContext context, String url, Executor executor) {
+        PageDto knownPage = context.findKnownPage(getPagePath(URI.create(url)));
+        return pageFetcher.fetchAsync(url, knownPage, executor)
+                .thenCompose(fetchResult -> fetchResult.isNotModified() && !loadLinks(knownPage)
+                        ? pageFetcher.fetchAsync(url, null, executor)
+                        : CompletableFuture.completedFuture(fetchResult))
+                .whenComplete((fetchResult, e) -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof HttpStatusException statusException) {
+                        handleClientError(context, knownPage, statusException.getStatusCode());
+                    }
+                })
+                .thenApply(fetchResult -> {
+                    context.recordFetch(fetchResult.getBodySize());
+                    return applyRelCanonical(context, applyRedirect(context, url, fetchResult));
+                });
+    }
+
+    private boolean loadLinks(PageDto knownPage) {
+        if (knownPage == null) {
+            return false;
+        }
+        knownPage.setLinks(pageCRUDService.getLinks(knownPage.getId()));
+        return knownPage.getLinks() != null;
+    }
+
+    private void handleClientError(CrawlContext context, PageDto knownPage, int statusCode) {
+        if (knownPage == null || statusCode >= 500 || statusCode == 408 || statusCode == 429) {
+            return;
+        }
+        try {
+            if (statusCode == 404 || statusCode == 410) {
+                if (knownPage.getSimHash() != null) {
+                    context.getDuplicates().remove(knownPage.getSimHash(), knownPage.getId());
+                }
+                pageCRUDService.delete(knownPage.getId());
+                log.info("Страница " + knownPage.getPath() + " удалена из индекса: сервер вернул " + statusCode);
+            } else {
+                pageCRUDService.updateCode(knownPage.getId(), statusCode);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка при обновлении страницы " + knownPage.getPath(), e);
+        }
+    }
+
+    private FetchResult applyRedirect(CrawlContext context, String url, FetchResult fetchResult) {
+        if (url.equals(fetchResult.getUrl())) {
+            return fetchResult;
+        }
+        String finalUrl = context.canonicalize(fetchResult.getUrl());
+        if (finalUrl == null || finalUrl.equals(url)) {
+            return fetchResult.withUrl(url);
+        }
+        if (!context.isSameSite(finalUrl)) {
+            log.info("Страница " + url + " перенаправляет за пределы сайта на " + finalUrl);
+            return fetchResult.withoutDocument();
+        }
+        if (!context.markCanonical(finalUrl)) {
+            log.info("Страница " + url + " перенаправляет на уже обработанную " + finalUrl);
+            return fetchResult.withoutDocument();
+        }
+        return fetchResult.withUrl(finalUrl);
+    }
+
+    private FetchResult applyRelCanonical(CrawlContext context, FetchResult fetchResult) {
+        if (!context.getCanonicalSettings().isUseRelCanonical() || !fetchResult.hasDocument()) {
+            return fetchResult;
+        }
+        Element link = fetchResult.getDocument().selectFirst("link[rel=canonical][href]");
+        String canonicalUrl = link == null ? null : context.canonicalize(link.absUrl("href"));
+        if (canonicalUrl == null || canonicalUrl.equals(fetchResult.getUrl()) || !context.isSameSite(canonicalUrl)) {
+            return fetchResult;
+        }
+        if (!context.markCanonical(canonicalUrl)) {
+            log.info("Страница " + fetchResult.getUrl() + " является копией уже обработанной " + canonicalUrl);
+            return fetchResult.withoutDocument();
+        }
+        return fetchResult.withUrl(canonicalUrl);
+    }
+
+    public PageDto createPageDto(FetchResult fetchResult) {
+        URI uri = URI.create(fetchResult.getUrl());
+        PageDto pageDto = new PageDto();
+        pageDto.setSite(getRootUrl(uri));
+        pageDto.setPath(getPagePath(uri));
+        pageDto.setCode(fetchResult.getStatusCode());
+        pageDto.setContent(fetchResult.getDocument().toString());
+        pageDto.setEtag(fetchResult.getHeader("ETag"));
+        pageDto.setLastModified(fetchResult.getHeader("Last-Modified"));
+        ContentExtractor.Extraction extraction = contentExtractor.analyze(pageDto.getSite(), fetchResult.getDocument());
+        pageDto.setText(extraction.text());
+        Element body = fetchResult.getDocument().body();
+        pageDto.setContentHash(hash(body == null ? "" : body.text()));
+        DuplicateSettings duplicateSettings = crawlerSettings.getDuplicates();
+        if (duplicateSettings.isEnabled() && !extraction.pageText().isBlank()) {
+            pageDto.setSimHash(SimHash.compute(extraction.pageText(), duplicateSettings.getShingleSize()));
+        }
+        return pageDto;
+    }
+
+    public PageDto storePage(CrawlContext context, PageDto pageDto) throws Exception {
+        PageDto knownPage = context.findKnownPage(pageDto.getPath());
+        if (knownPage != null) {
+            if (pageDto.getContentHash().equals(knownPage.getContentHash())) {
+                pageDto.setId(knownPage.getId());
+                pageCRUDService.updateValidators(pageDto);
+                return null;
+            }
+            if (knownPage.getSimHash() != null) {
+                context.getDuplicates().remove(knownPage.getSimHash(), knownPage.getId());
+            }
+            pageCRUDService.delete(knownPage.getId());
+        } else if (pageCRUDService.isPageExists(pageDto.getPath(), context.getSiteId())) {
+            return null;
+        }
+        Long original = pageDto.getSimHash() == null ? null : context.getDuplicates().find(pageDto.getSimHash());
+        if (original != null) {
+            pageDto.setDuplicateOf(original);
+            pageCRUDService.create(pageDto);
+            log.info("Страница " + pageDto.getPath() + " дублирует страницу с id " + original);
+            return null;
+        }
+        pageCRUDService.create(pageDto);
+        PageDto storedPage = pageCRUDService.getByPathAndSitePath(pageDto.getPath(), pageDto.getSite());
+        if (storedPage.getSimHash() != null) {
+            context.getDuplicates().add(storedPage.getSimHash(), storedPage.getId());
+        }
+        return storedPage;
+    }
+
+    public void indexPage(CrawlContext context, PageDto pageDto) throws Exception {
+        PageDto storedPage = storePage(context, pageDto);
+        if (storedPage != null) {
+            lemmizer.createLemmasAndIndex(storedPage);
+        }
+    }
+
+    public List<String> extractLinks(CrawlContext context, FetchResult fetchResult) {
+        List<String> links = new ArrayList<>();
+        if (fetchResult.isNotModified()) {
+            PageDto knownPage = context.findKnownPage(getPagePath(URI.create(fetchResult.getUrl())));
+            if (knownPage != null && knownPage.getLinks() != null) {
+                knownPage.getLinks().forEach(link -> addLink(context, links, link));
+            }
+            return links;
+        }
+        Document doc = fetchResult.getDocument();
+        if (doc != null) {
+            doc.select("a[href]").forEach(link -> addLink(context, links, link.absUrl("href")));
+        }
+        return links;
+    }
+
+    private void addLink(CrawlContext context, List<String> links, String url) {
+        String absUrl = context.canonicalize(url);
+        if (absUrl != null && context.isSameSite(absUrl)
+                && !absUrl.contains(".xml") && !absUrl.contains(".css")) {
+            links.add(absUrl);
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String getRootUrl(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost();
+    }
+
+    static String getPagePath(URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path = path + "?" + uri.getRawQuery();
+        }
+        if (path.length() <= PageModel.MAX_PATH_LENGTH) {
+            return path;
+        }
+        String digest = hash(path);
+        return path.substring(0, PageModel.MAX_PATH_LENGTH - digest.length() - 1) + "#" + digest;
+    }
+}
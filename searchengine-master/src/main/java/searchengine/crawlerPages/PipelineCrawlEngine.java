@@ -0,0 +1,212 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlEngineType;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.PipelineSettings;
+import searchengine.dto.objects.PageDto;
+import searchengine.lemmizer.Lemmizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class PipelineCrawlEngine implements CrawlEngine {
+    private final CrawlerSettings crawlerSettings;
+    private final PageProcessor pageProcessor;
+    private final Lemmizer lemmizer;
+    private final List<ExecutorService> stages = new ArrayList<>();
+    private BlockingQueue<PipelineItem> frontier;
+    private BlockingQueue<PipelineItem> parseQueue;
+    private BlockingQueue<PipelineItem> lemmatizeQueue;
+    private BlockingQueue<PipelineItem> persistQueue;
+
+    public PipelineCrawlEngine(CrawlerSettings crawlerSettings, PageProcessor pageProcessor, Lemmizer lemmizer) {
+        this.crawlerSettings = crawlerSettings;
+        this.pageProcessor = pageProcessor;
+        this.lemmizer = lemmizer;
+    }
+
+    @Override
+    public CrawlEngineType getType() {
+        return CrawlEngineType.PIPELINE;
+    }
+
+    @Override
+    public void start() {
+        PipelineSettings settings = crawlerSettings.getPipeline();
+        frontier = new LinkedBlockingQueue<>();
+        parseQueue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        lemmatizeQueue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        persistQueue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        stages.clear();
+        startStage(Thread.ofVirtual().name("PipelineFetch-", 0).factory(),
+                settings.getFetchWorkers(), frontier, this::fetch);
+        startStage(Thread.ofPlatform().name("PipelineParse-", 0).factory(),
+                settings.getParseWorkers(), parseQueue, this::parse);
+        startStage(Thread.ofPlatform().name("PipelineLemmatize-", 0).factory(),
+                settings.getLemmatizeWorkers(), lemmatizeQueue, this::lemmatize);
+        startStage(Thread.ofPlatform().name("PipelinePersist-", 0).factory(),
+                settings.getPersistWorkers(), persistQueue, this::persist);
+    }
+
+    @Override
+    public CompletableFuture<TaskResult> crawl(CrawlContext context) {
+        SiteCrawl siteCrawl = new SiteCrawl(context);
+        siteCrawl.submitSeeds(context.getSeeds());
+        return siteCrawl.result;
+    }
+
+    @Override
+    public void stop() {
+        stages.forEach(ExecutorService::shutdownNow);
+        stages.clear();
+    }
+
+    private void startStage(ThreadFactory threadFactory, int workers,
+                            BlockingQueue<PipelineItem> input, Stage stage) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers, threadFactory);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> runStage(input, stage));
+        }
+        stages.add(executor);
+    }
+
+    private void runStage(BlockingQueue<PipelineItem> input, Stage stage) {
+        while (!Thread.currentThread().isInterrupted()) {
+            PipelineItem item;
+            try {
+                item = input.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                CrawlContext context = item.siteCrawl.context;
+                if (input == frontier ? !context.reserveFetch() : context.isStopped()) {
+                    item.siteCrawl.complete();
+                } else if (!stage.process(item)) {
+                    item.siteCrawl.finish(item);
+                }
+            } catch (InterruptedException e) {
+                item.siteCrawl.complete();
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Ошибка при обработке URL: " + item.url, e);
+                item.siteCrawl.fail(item, e);
+                item.siteCrawl.finish(item);
+            }
+        }
+    }
+
+    private boolean fetch(PipelineItem item) throws Exception {
+        item.fetchResult = pageProcessor.fetch(item.siteCrawl.context, item.url);
+        if (item.fetchResult.isNotModified()) {
+            for (String link : pageProcessor.extractLinks(item.siteCrawl.context, item.fetchResult)) {
+                item.siteCrawl.submit(link, item.level + 1);
+            }
+        }
+        if (!item.fetchResult.hasDocument()) {
+            return false;
+        }
+        parseQueue.put(item);
+        return true;
+    }
+
+    private boolean parse(PipelineItem item) throws Exception {
+        List<String> links = pageProcessor.extractLinks(item.siteCrawl.context, item.fetchResult);
+        for (String link : links) {
+            item.siteCrawl.submit(link, item.level + 1);
+        }
+        PageDto pageDto = pageProcessor.createPageDto(item.fetchResult);
+        pageDto.setLinks(links);
+        item.fetchResult = null;
+        item.pageDto = pageProcessor.storePage(item.siteCrawl.context, pageDto);
+        if (item.pageDto == null) {
+            return false;
+        }
+        item.text = pageDto.getText();
+        lemmatizeQueue.put(item);
+        return true;
+    }
+
+    private boolean lemmatize(PipelineItem item) throws Exception {
+        item.lemmas = lemmizer.getLemmasList(item.text);
+        item.text = null;
+        persistQueue.put(item);
+        return true;
+    }
+
+    private boolean persist(PipelineItem item) throws Exception {
+        lemmizer.createLemmasAndIndex(item.pageDto, item.lemmas);
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        boolean process(PipelineItem item) throws Exception;
+    }
+
+    private static class PipelineItem {
+        private final SiteCrawl siteCrawl;
+        private final String url;
+        private final int level;
+        private FetchResult fetchResult;
+        private PageDto pageDto;
+        private String text;
+        private Map<String, Integer> lemmas;
+
+        PipelineItem(SiteCrawl siteCrawl, String url, int level) {
+            this.siteCrawl = siteCrawl;
+            this.url = url;
+            this.level = level;
+        }
+    }
+
+    private class SiteCrawl {
+        private final CrawlContext context;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+        private volatile TaskResult rootResult = new TaskResult(true, null);
+
+        SiteCrawl(CrawlContext context) {
+            this.context = context;
+        }
+
+        void submitSeeds(Map<String, Integer> seeds) {
+            pending.incrementAndGet();
+            seeds.forEach(this::submit);
+            complete();
+        }
+
+        void submit(String url, int level) {
+            if (!context.markVisited(url, level)) {
+                return;
+            }
+            pending.incrementAndGet();
+            frontier.add(new PipelineItem(this, url, level));
+        }
+
+        void fail(PipelineItem item, Exception e) {
+            if (context.isRoot(item.url)) {
+                rootResult = new TaskResult(false, e.getMessage());
+            }
+        }
+
+        void finish(PipelineItem item) {
+            context.markDone(item.url);
+            complete();
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0) {
+                result.complete(rootResult);
+            }
+        }
+    }
+}
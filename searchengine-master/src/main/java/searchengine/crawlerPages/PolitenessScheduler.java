@@ -0,0 +1,115 @@
+package searchengine.crawlerPages;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.PolitenessSettings;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class PolitenessScheduler {
+    private final SitesList sitesList;
+    private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PolitenessTimer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PolitenessScheduler(SitesList sitesList) {
+        this.sitesList = sitesList;
+    }
+
+    public CompletableFuture<Void> acquire(String url) {
+        String host = getHost(url);
+        long delay = buckets.computeIfAbsent(host, it -> new HostBucket(getSettings(it))).reserve();
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        if (delay <= 0) {
+            permit.complete(null);
+        } else {
+            timer.schedule(() -> permit.complete(null), delay, TimeUnit.NANOSECONDS);
+        }
+        return permit;
+    }
+
+    public void applyCrawlDelay(String url, long crawlDelay) {
+        String host = getHost(url);
+        buckets.computeIfAbsent(host, it -> new HostBucket(getSettings(it))).raiseMinDelay(crawlDelay);
+    }
+
+    public void pause(String url, long pause) {
+        String host = getHost(url);
+        buckets.computeIfAbsent(host, it -> new HostBucket(getSettings(it))).pause(pause);
+    }
+
+    public void reset() {
+        buckets.clear();
+    }
+
+    private PolitenessSettings getSettings(String host) {
+        return sitesList.getSites().stream()
+                .filter(site -> host.equals(getHost(site.getUrl())))
+                .map(Site::getPoliteness)
+                .findFirst()
+                .orElseGet(PolitenessSettings::new);
+    }
+
+    private static String getHost(String url) {
+        String host = URI.create(url).getHost();
+        return host == null ? url : host.toLowerCase();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private static class HostBucket {
+        private final double tokensPerNano;
+        private final double burst;
+        private long minDelayNanos;
+        private double tokens;
+        private long lastRefill;
+        private long nextFree;
+
+        HostBucket(PolitenessSettings settings) {
+            this.tokensPerNano = Math.max(settings.getRequestsPerSecond(), 0.001) / TimeUnit.SECONDS.toNanos(1);
+            this.burst = Math.max(settings.getBurst(), 1);
+            this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(settings.getMinDelay(), 0));
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+            this.nextFree = lastRefill;
+        }
+
+        synchronized void raiseMinDelay(long minDelay) {
+            minDelayNanos = Math.max(minDelayNanos, TimeUnit.MILLISECONDS.toNanos(minDelay));
+        }
+
+        synchronized void pause(long pause) {
+            nextFree = Math.max(nextFree, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pause));
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            long releaseAt = Math.max(now, nextFree);
+            if (tokens < 0) {
+                releaseAt = Math.max(releaseAt, now + (long) (-tokens / tokensPerNano));
+            }
+            nextFree = releaseAt + minDelayNanos;
+            return releaseAt - now;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package searchengine.crawlerPages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RobotsRules {
+    private static final Pattern COMPATIBLE_TOKEN = Pattern.compile("compatible;\\s*([A-Za-z0-9_-]+)");
+    private static final Pattern PRODUCT_TOKEN = Pattern.compile("^([A-Za-z0-9_-]+)/");
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(Collections.emptyList(), 0, Collections.emptyList());
+    private final List<Rule> rules;
+    private final long crawlDelay;
+    private final List<String> sitemaps;
+
+    private RobotsRules(List<Rule> rules, long crawlDelay, List<String> sitemaps) {
+        this.rules = rules;
+        this.crawlDelay = crawlDelay;
+        this.sitemaps = sitemaps;
+    }
+
+    public static RobotsRules parse(String content, String userAgent) {
+        List<String> agentNames = getAgentNames(userAgent);
+        List<Rule> ownRules = new ArrayList<>();
+        List<Rule> defaultRules = new ArrayList<>();
+        List<String> sitemaps = new ArrayList<>();
+        long ownDelay = -1;
+        long defaultDelay = -1;
+        boolean ownGroup = false;
+        boolean ownGroupFound = false;
+        boolean defaultGroup = false;
+        boolean readingAgents = false;
+        for (String rawLine : content.split("\\r?\\n")) {
+            String line = rawLine.replaceAll("#.*$", "").trim();
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String field = line.substring(0, colon).trim().toLowerCase();
+            String value = line.substring(colon + 1).trim();
+            if (field.equals("user-agent")) {
+                if (!readingAgents) {
+                    ownGroup = false;
+                    defaultGroup = false;
+                }
+                readingAgents = true;
+                ownGroup |= agentNames.contains(value.toLowerCase(Locale.ROOT));
+                ownGroupFound |= ownGroup;
+                defaultGroup |= value.equals("*");
+                continue;
+            }
+            readingAgents = false;
+            switch (field) {
+                case "sitemap" -> sitemaps.add(value);
+                case "allow", "disallow" -> {
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    Rule rule = new Rule(value, field.equals("allow"));
+                    if (ownGroup) {
+                        ownRules.add(rule);
+                    }
+                    if (defaultGroup) {
+                        defaultRules.add(rule);
+                    }
+                }
+                case "crawl-delay" -> {
+                    try {
+                        long delay = (long) (Double.parseDouble(value) * 1000);
+                        if (ownGroup) {
+                            ownDelay = delay;
+                        }
+                        if (defaultGroup) {
+                            defaultDelay = delay;
+                        }
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return new RobotsRules(ownGroupFound ? ownRules : defaultRules,
+                Math.max(ownGroupFound ? ownDelay : defaultDelay, 0), sitemaps);
+    }
+
+    private static List<String> getAgentNames(String userAgent) {
+        List<String> names = new ArrayList<>();
+        String agent = userAgent.trim();
+        names.add(agent.toLowerCase(Locale.ROOT));
+        Matcher compatible = COMPATIBLE_TOKEN.matcher(agent);
+        Matcher product = PRODUCT_TOKEN.matcher(agent);
+        if (compatible.find()) {
+            names.add(compatible.group(1).toLowerCase(Locale.ROOT));
+        } else if (product.find() && !product.group(1).equalsIgnoreCase("mozilla")) {
+            names.add(product.group(1).toLowerCase(Locale.ROOT));
+        }
+        return names;
+    }
+
+    public boolean isAllowed(String path) {
+        Rule match = null;
+        for (Rule rule : rules) {
+            if (rule.matches(path) && (match == null || rule.length() > match.length()
+                    || (rule.length() == match.length() && rule.allow))) {
+                match = rule;
+            }
+        }
+        return match == null || match.allow;
+    }
+
+    public long getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    public List<String> getSitemaps() {
+        return sitemaps;
+    }
+
+    private static class Rule {
+        private final String value;
+        private final boolean allow;
+        private final Pattern pattern;
+
+        Rule(String value, boolean allow) {
+            this.value = value;
+            this.allow = allow;
+            boolean anchored = value.endsWith("$");
+            String body = anchored ? value.substring(0, value.length() - 1) : value;
+            StringBuilder regex = new StringBuilder();
+            for (String part : body.split("\\*", -1)) {
+                if (regex.length() > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            String expression = anchored ? regex + "$" : regex.toString();
+            this.pattern = Pattern.compile(expression);
+        }
+
+        boolean matches(String path) {
+            return pattern.matcher(path).lookingAt();
+        }
+
+        int length() {
+            return value.length();
+        }
+    }
+}
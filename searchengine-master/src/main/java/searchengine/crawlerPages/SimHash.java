@@ -0,0 +1,52 @@
+package searchengine.crawlerPages;
+
+import java.util.Locale;
+
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    public static long compute(String text, int shingleSize) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int[] weights = new int[64];
+        int size = Math.max(shingleSize, 1);
+        StringBuilder shingle = new StringBuilder();
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (words[i].isEmpty()) {
+                continue;
+            }
+            shingle.setLength(0);
+            int taken = 0;
+            for (int j = i; j < words.length && taken < size; j++) {
+                if (!words[j].isEmpty()) {
+                    shingle.append(words[j]).append(' ');
+                    taken++;
+                }
+            }
+            long hash = VisitedUrlSet.fingerprint(shingle.toString());
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+            }
+            count++;
+            if (taken < size) {
+                break;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+}
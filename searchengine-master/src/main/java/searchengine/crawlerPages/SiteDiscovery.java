@@ -0,0 +1,122 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.HttpSettings;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+@Slf4j
+@Component
+public class SiteDiscovery {
+    private static final int MAX_SITEMAP_FILES = 100;
+    private final CrawlerSettings crawlerSettings;
+    private final PageFetcher pageFetcher;
+    private final PolitenessScheduler politenessScheduler;
+
+    public SiteDiscovery(CrawlerSettings crawlerSettings, PageFetcher pageFetcher, PolitenessScheduler politenessScheduler) {
+        this.crawlerSettings = crawlerSettings;
+        this.pageFetcher = pageFetcher;
+        this.politenessScheduler = politenessScheduler;
+    }
+
+    public void discover(CrawlContext context) {
+        String rootUrl = context.getRootUrl().replaceAll("/$", "");
+        RobotsRules robotsRules = RobotsRules.ALLOW_ALL;
+        if (crawlerSettings.isRespectRobots()) {
+            robotsRules = loadRobots(rootUrl);
+            context.setRobotsRules(robotsRules);
+            if (robotsRules.getCrawlDelay() > 0) {
+                politenessScheduler.applyCrawlDelay(rootUrl, robotsRules.getCrawlDelay());
+            }
+        }
+        if (crawlerSettings.isUseSitemaps() && !context.isResumed()) {
+            List<String> sitemaps = new ArrayList<>(robotsRules.getSitemaps());
+            if (sitemaps.isEmpty()) {
+                sitemaps.add(rootUrl + "/sitemap.xml");
+            }
+            context.setSitemapUrls(loadSitemapUrls(context, rootUrl, sitemaps));
+        }
+    }
+
+    private RobotsRules loadRobots(String rootUrl) {
+        try {
+            String content = pageFetcher.fetchResource(rootUrl + "/robots.txt");
+            return content == null ? RobotsRules.ALLOW_ALL : RobotsRules.parse(content, getRobotsAgent());
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить robots.txt для " + rootUrl + ": " + e.getMessage());
+            return RobotsRules.ALLOW_ALL;
+        }
+    }
+
+    private String getRobotsAgent() {
+        HttpSettings http = crawlerSettings.getHttp();
+        String robotsAgent = http.getRobotsAgent();
+        return robotsAgent == null || robotsAgent.isBlank() ? http.getUserAgent() : robotsAgent;
+    }
+
+    private List<String> loadSitemapUrls(CrawlContext context, String rootUrl, List<String> sitemaps) {
+        Map<String, Long> lastModByUrl = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>(sitemaps);
+        Set<String> seenSitemaps = new HashSet<>();
+        int maxUrls = crawlerSettings.getMaxSitemapUrls();
+        while (!queue.isEmpty() && seenSitemaps.size() < MAX_SITEMAP_FILES && lastModByUrl.size() < maxUrls) {
+            String sitemapUrl = queue.poll();
+            if (!seenSitemaps.add(sitemapUrl) || !context.isActive()) {
+                continue;
+            }
+            try {
+                String content = pageFetcher.fetchResource(sitemapUrl);
+                if (content == null) {
+                    continue;
+                }
+                Document xml = Jsoup.parse(content, sitemapUrl, Parser.xmlParser());
+                for (Element sitemap : xml.select("sitemapindex > sitemap > loc")) {
+                    queue.add(sitemap.text().trim());
+                }
+                for (Element url : xml.select("urlset > url")) {
+                    Element loc = url.selectFirst("loc");
+                    if (loc == null || lastModByUrl.size() >= maxUrls) {
+                        continue;
+                    }
+                    String pageUrl = context.canonicalize(loc.text().trim());
+                    if (pageUrl != null && context.isSameSite(pageUrl) && context.isAllowed(pageUrl)) {
+                        Element lastmod = url.selectFirst("lastmod");
+                        lastModByUrl.put(pageUrl, parseLastMod(lastmod == null ? null : lastmod.text().trim()));
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Не удалось обработать sitemap " + sitemapUrl + ": " + e.getMessage());
+            }
+        }
+        List<String> urls = new ArrayList<>(lastModByUrl.keySet());
+        urls.sort(Comparator.comparing(lastModByUrl::get, Comparator.reverseOrder()));
+        log.info("Из sitemap получено " + urls.size() + " адресов для " + rootUrl);
+        return urls;
+    }
+
+    private long parseLastMod(String lastmod) {
+        if (lastmod == null || lastmod.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return OffsetDateTime.parse(lastmod).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(lastmod.substring(0, Math.min(lastmod.length(), 10)))
+                        .atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+}
@@ -1,20 +1,37 @@
 package searchengine.crawlerPages;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import searchengine.config.CrawlerSettings;
 import searchengine.config.Site;
 import searchengine.config.SitesList;
+import searchengine.dto.objects.PageDto;
 import searchengine.dto.objects.SiteDto;
-import searchengine.lemmizer.Lemmizer;
+import searchengine.lemmizer.LemmaDictionary;
 import searchengine.model.SiteModel;
 import searchengine.model.Status;
+import searchengine.services.IndexCRUDService;
 import searchengine.services.PageCRUDService;
 import searchengine.services.SiteCRUDService;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 
@@ -29,40 +46,176 @@ public class SiteMapManager {
     @Autowired
     private PageCRUDService pageCRUDService;
     @Autowired
-    private Lemmizer lemmizer;
+    private CrawlerSettings crawlerSettings;
+    @Autowired
+    private PolitenessScheduler politenessScheduler;
+    @Autowired
+    private HostConcurrencyLimiter concurrencyLimiter;
+    @Autowired
+    private List<CrawlEngine> crawlEngines;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private SiteDiscovery siteDiscovery;
+    @Autowired
+    private CheckpointService checkpointService;
+    @Autowired
+    private LemmaDictionary lemmaDictionary;
+    @Autowired
+    private IndexCRUDService indexCRUDService;
+    @Autowired
+    private ContentExtractor contentExtractor;
+    private final ExecutorService discoveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService checkpointTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CrawlCheckpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
     public AtomicBoolean isIndexingActive = new AtomicBoolean(false);
-    ForkJoinPool pool;
+    private CrawlEngine engine;
+    private final Map<String, CompletableFuture<TaskResult>> siteCrawls = new ConcurrentHashMap<>();
+    private final Map<String, CrawlContext> activeContexts = new ConcurrentHashMap<>();
 
     public void start() throws Exception {
-        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        run(false);
+    }
+
+    public void resume() throws Exception {
+        run(true);
+    }
+
+    private void run(boolean resume) throws Exception {
+        engine = getEngine();
+        engine.start();
         Long start = System.currentTimeMillis();
         isIndexingActive.set(true);
         List<Site> listUrl;
         listUrl = sitesList.getSites();
-        siteCRUDService.deleteAll();
+        if (!resume) {
+            checkpointService.deleteAll();
+            if (!crawlerSettings.isIncremental()) {
+                siteCRUDService.deleteAll();
+            }
+        }
+        politenessScheduler.reset();
+        concurrencyLimiter.reset();
+        contentExtractor.clear();
+        siteCrawls.clear();
+        long interval = crawlerSettings.getCheckpoint().getInterval();
+        ScheduledFuture<?> checkpoints = checkpointTimer.scheduleAtFixedRate(this::saveCheckpoints,
+                interval, interval, TimeUnit.SECONDS);
+        List<CompletableFuture<?>> crawls = new ArrayList<>();
         for (Site site : listUrl) {
-            String url = site.getUrl();
-            String siteId = null;
-            if (!siteCRUDService.existsByUrl(url) && isIndexingActive.get() == true) {
-                SiteDto siteDto = createSite(site);
-                siteId = siteDto.getId();
+            if (isIndexingActive.get() == false) {
+                break;
             }
-            if(isIndexingActive.get() == true){
-                SiteMapTask task = new SiteMapTask(url, 0, pageCRUDService, siteCRUDService, lemmizer, siteId, this);
-                TaskResult taskResult = pool.invoke(task);
-                updateSiteStatus(url, taskResult);
-                if(isIndexingActive.get() == false){
-                    updateSiteStatus(url, new TaskResult(false, "Индексация остановлена пользователем"));
+            SiteModel existingSite = siteCRUDService.findByUrl(site.getUrl());
+            CrawlCheckpoint checkpoint = null;
+            if (resume && existingSite != null) {
+                if (existingSite.getStatus() == Status.INDEXED || existingSite.getStatus() == Status.BUDGET_REACHED) {
+                    continue;
                 }
+                checkpoint = checkpointService.load(existingSite.getId().toString());
+            }
+            SiteDto siteDto = existingSite != null
+                    ? markSiteIndexing(site.getUrl())
+                    : createSite(site);
+            crawls.add(crawlSite(site, siteDto.getId(), checkpoint));
+        }
+        for (CompletableFuture<?> crawl : crawls) {
+            try {
+                crawl.join();
+            } catch (CancellationException e) {
+                log.warn("Обход сайта отменён");
+            } catch (Exception e) {
+                log.error("Ошибка при обходе сайта ", e);
             }
         }
 
-            isIndexingActive.set(false);
-
+        checkpoints.cancel(false);
+        isIndexingActive.set(false);
+        engine.stop();
 
         System.err.println("Start time - finish time = " + (System.currentTimeMillis() - start));
     }
 
+    private CompletableFuture<?> crawlSite(Site site, String siteId, CrawlCheckpoint checkpoint) {
+        String url = site.getUrl();
+        CrawlContext context = new CrawlContext(site, siteId, isIndexingActive, crawlerSettings);
+        Map<String, PageDto> storedPages = checkpoint != null || crawlerSettings.isIncremental()
+                ? pageCRUDService.getValidatorsBySiteId(siteId)
+                : Map.of();
+        if (checkpoint != null) {
+            context.restore(checkpoint, requeueUnindexed(url, siteId, storedPages));
+        } else if (crawlerSettings.isIncremental()) {
+            context.setKnownPages(storedPages);
+        }
+        storedPages.values().stream()
+                .filter(page -> page.getSimHash() != null && page.getDuplicateOf() == null)
+                .forEach(page -> context.getDuplicates().add(page.getSimHash(), page.getId()));
+        activeContexts.put(url, context);
+        Gauge visitedGauge = Gauge.builder("crawler.visited.bytes", context, it -> it.getVisited().memoryBytes())
+                .tag("site", url)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        CompletableFuture<TaskResult> crawl = CompletableFuture
+                .runAsync(() -> siteDiscovery.discover(context), discoveryExecutor)
+                .thenCompose(it -> engine.crawl(context));
+        siteCrawls.put(url, crawl);
+        return crawl
+                .exceptionally(e -> new TaskResult(false, e.getMessage()))
+                .whenComplete((taskResult, e) -> {
+                    activeContexts.remove(url);
+                    meterRegistry.remove(visitedGauge);
+                    context.release();
+                    lemmaDictionary.flush(UUID.fromString(siteId));
+                })
+                .thenAccept(taskResult -> {
+                    if (isIndexingActive.get() == false) {
+                        updateSiteStatus(url, Status.FAILED, "Индексация остановлена пользователем");
+                        return;
+                    }
+                    if (context.getBudgetReached() != null) {
+                        updateSiteStatus(url, Status.BUDGET_REACHED, context.getBudgetReached());
+                    } else if (taskResult.getSuccess()) {
+                        updateSiteStatus(url, Status.INDEXED, taskResult.getErrorMessage());
+                    } else {
+                        updateSiteStatus(url, Status.FAILED, taskResult.getErrorMessage());
+                        return;
+                    }
+                    checkpointService.delete(siteId);
+                });
+    }
+
+    private List<String> requeueUnindexed(String url, String siteId, Map<String, PageDto> storedPages) {
+        Set<Long> indexedPages = indexCRUDService.findIndexedPageIds(siteId);
+        List<String> paths = new ArrayList<>();
+        Iterator<PageDto> pages = storedPages.values().iterator();
+        while (pages.hasNext()) {
+            PageDto page = pages.next();
+            if (page.getDuplicateOf() == null && !indexedPages.contains(page.getId())) {
+                pageCRUDService.delete(page.getId());
+                paths.add(page.getPath());
+                pages.remove();
+            }
+        }
+        if (!paths.isEmpty()) {
+            log.info("Повторно в очереди " + paths.size() + " неиндексированных страниц " + url);
+        }
+        return paths;
+    }
+
+    private void saveCheckpoints() {
+        activeContexts.values().forEach(checkpointService::save);
+    }
+
+    private CrawlEngine getEngine() {
+        return crawlEngines.stream()
+                .filter(it -> it.getType() == crawlerSettings.getEngine())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Crawl engine not found: " + crawlerSettings.getEngine()));
+    }
+
     private SiteDto createSite(Site site) {
         SiteDto siteDto = new SiteDto();
 
@@ -73,15 +226,18 @@ public class SiteMapManager {
         return siteCRUDService.create(siteDto);
     }
 
-    private void updateSiteStatus(String url, TaskResult taskResult){
+    private SiteDto markSiteIndexing(String url) throws Exception {
+        SiteDto siteDto = siteCRUDService.getByUrl(url);
+        siteDto.setStatus(Status.INDEXING.name());
+        siteDto.setLastError(null);
+        siteDto.setStatusTime(LocalDateTime.now().toString());
+        siteCRUDService.update(siteDto);
+        return siteDto;
+    }
+
+    private void updateSiteStatus(String url, Status status, String errorMessage){
         SiteModel model = siteCRUDService.findByUrl(url);
-        Boolean success = taskResult.getSuccess();
-        String errorMessage = taskResult.getErrorMessage();
-        if (success) {
-            model.setStatus(Status.INDEXED);
-        } else {
-            model.setStatus(Status.FAILED);
-        }
+        model.setStatus(status);
         model.setLastError(errorMessage);
         model.setStatusTime(LocalDateTime.now());
         try {
@@ -93,8 +249,12 @@ public class SiteMapManager {
 
     public void stopIndexing() {
         try {
+            saveCheckpoints();
             isIndexingActive.set(false);
-            pool.shutdownNow();
+            if (engine != null) {
+                engine.stop();
+            }
+            siteCrawls.values().forEach(crawl -> crawl.cancel(true));
             updateStatusAfterStop();
         } catch (Exception e) {
             log.error("Проблема с остановкой индексации ", e);
@@ -0,0 +1,132 @@
+package searchengine.crawlerPages;
+
+import searchengine.config.CanonicalSettings;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class UrlCanonicalizer {
+    private static final Pattern PERCENT_ENCODED = Pattern.compile("%[0-9a-fA-F]{2}");
+    private static final Pattern DUPLICATE_SLASHES = Pattern.compile("/{2,}");
+    private final CanonicalSettings settings;
+
+    public UrlCanonicalizer(CanonicalSettings settings) {
+        this.settings = settings;
+    }
+
+    public String canonicalize(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = new URI(url.trim().replace(" ", "%20"));
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost();
+        if (host == null || !("http".equals(scheme) || "https".equals(scheme))) {
+            return null;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+
+        StringBuilder canonical = new StringBuilder(scheme).append("://").append(host);
+        if (!defaultPort) {
+            canonical.append(':').append(port);
+        }
+        canonical.append(normalizePath(uri.getRawPath()));
+        String query = settings.isDropQuery() ? null : normalizeQuery(uri.getRawQuery());
+        if (query != null && !query.isEmpty()) {
+            canonical.append('?').append(query);
+        }
+        return canonical.toString();
+    }
+
+    private String normalizePath(String rawPath) {
+        String path = rawPath == null || rawPath.isEmpty() ? "/" : rawPath;
+        path = DUPLICATE_SLASHES.matcher(path).replaceAll("/");
+        path = URI.create("http://h" + path).normalize().getRawPath();
+        while (path.startsWith("/../") || path.equals("/..")) {
+            path = path.substring(3);
+        }
+        if (path.isEmpty()) {
+            path = "/";
+        }
+        if (settings.isLowercasePath()) {
+            path = path.toLowerCase(Locale.ROOT);
+        }
+        path = uppercasePercentEncoding(path);
+        int lastSlash = path.lastIndexOf('/');
+        String lastSegment = path.substring(lastSlash + 1);
+        for (String indexFile : settings.getIndexFiles()) {
+            if (lastSegment.equalsIgnoreCase(indexFile)) {
+                path = path.substring(0, lastSlash + 1);
+                break;
+            }
+        }
+        if (settings.isTrailingSlash() && !path.endsWith("/")) {
+            path = path + "/";
+        }
+        return path;
+    }
+
+    private String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return null;
+        }
+        List<String> params = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (isKept(name)) {
+                params.add(uppercasePercentEncoding(param));
+            }
+        }
+        if (settings.isSortParams()) {
+            params.sort(Comparator.comparing((String param) -> param.split("=", 2)[0]));
+        }
+        return String.join("&", params);
+    }
+
+    private boolean isKept(String name) {
+        if (!settings.getKeepParams().isEmpty()) {
+            return settings.getKeepParams().stream().anyMatch(pattern -> matches(pattern, name));
+        }
+        return settings.getStripParams().stream().noneMatch(pattern -> matches(pattern, name));
+    }
+
+    private static boolean matches(String pattern, String name) {
+        String lowerPattern = pattern.toLowerCase(Locale.ROOT);
+        if (lowerPattern.endsWith("*")) {
+            return name.startsWith(lowerPattern.substring(0, lowerPattern.length() - 1));
+        }
+        return name.equals(lowerPattern);
+    }
+
+    private static String uppercasePercentEncoding(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        Matcher matcher = PERCENT_ENCODED.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, matcher.group().toUpperCase(Locale.ROOT));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package searchengine.crawlerPages;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlEngineType;
+import searchengine.config.CrawlerSettings;
+import searchengine.dto.objects.PageDto;
+import searchengine.lemmizer.Lemmizer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class VirtualThreadCrawlEngine implements CrawlEngine {
+    private final CrawlerSettings crawlerSettings;
+    private final PageProcessor pageProcessor;
+    private final Lemmizer lemmizer;
+    private ExecutorService fetchExecutor;
+    private ThreadPoolExecutor lemmatizerPool;
+    private ExecutorService writerPool;
+
+    public VirtualThreadCrawlEngine(CrawlerSettings crawlerSettings, PageProcessor pageProcessor, Lemmizer lemmizer) {
+        this.crawlerSettings = crawlerSettings;
+        this.pageProcessor = pageProcessor;
+        this.lemmizer = lemmizer;
+    }
+
+    @Override
+    public CrawlEngineType getType() {
+        return CrawlEngineType.VIRTUAL_THREADS;
+    }
+
+    @Override
+    public void start() {
+        fetchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("CrawlerVT-", 0).factory());
+        int threads = crawlerSettings.getLemmatizerThreads();
+        lemmatizerPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(crawlerSettings.getLemmatizerQueueSize()),
+                VirtualThreadCrawlEngine::blockingHandoff);
+        writerPool = Executors.newFixedThreadPool(crawlerSettings.getWriterThreads(),
+                Thread.ofPlatform().name("CrawlerWriter-", 0).factory());
+    }
+
+    private static void blockingHandoff(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Пул лемматизации остановлен");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Ожидание очереди лемматизации прервано", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TaskResult> crawl(CrawlContext context) {
+        SiteCrawl siteCrawl = new SiteCrawl(context);
+        siteCrawl.submitSeeds(context.getSeeds());
+        return siteCrawl.result;
+    }
+
+    @Override
+    public void stop() {
+        if (fetchExecutor != null) {
+            fetchExecutor.shutdownNow();
+        }
+        if (lemmatizerPool != null) {
+            lemmatizerPool.shutdownNow();
+        }
+        if (writerPool != null) {
+            writerPool.shutdownNow();
+        }
+    }
+
+    private class SiteCrawl {
+        private final CrawlContext context;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+        private volatile TaskResult rootResult = new TaskResult(true, null);
+
+        SiteCrawl(CrawlContext context) {
+            this.context = context;
+        }
+
+        void submitSeeds(Map<String, Integer> seeds) {
+            pending.incrementAndGet();
+            seeds.forEach(this::submit);
+            complete();
+        }
+
+        void submit(String url, int level) {
+            if (!context.markVisited(url, level)) {
+                return;
+            }
+            pending.incrementAndGet();
+            try {
+                fetchExecutor.execute(() -> {
+                    try {
+                        visit(url, level);
+                    } finally {
+                        complete();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                complete();
+            }
+        }
+
+        private void visit(String url, int level) {
+            if (!context.reserveFetch()) {
+                return;
+            }
+            try {
+                FetchResult fetchResult = pageProcessor.fetch(context, url);
+                List<String> links = pageProcessor.extractLinks(context, fetchResult);
+                for (String link : links) {
+                    submit(link, level + 1);
+                }
+                if (fetchResult.hasDocument()) {
+                    PageDto pageDto = pageProcessor.createPageDto(fetchResult);
+                    pageDto.setLinks(links);
+                    PageDto storedPage = writerPool.submit(() -> pageProcessor.storePage(context, pageDto)).get();
+                    if (storedPage != null) {
+                        Map<String, Integer> lemmas = lemmatizerPool.submit(() -> lemmizer.getLemmasList(storedPage.getContent())).get();
+                        writerPool.submit(() -> lemmizer.createLemmasAndIndex(storedPage, lemmas)).get();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Ошибка при обработке URL: " + url, cause);
+                if (context.isRoot(url)) {
+                    rootResult = new TaskResult(false, cause.getMessage());
+                }
+            }
+            context.markDone(url);
+        }
+
+        private void complete() {
+            if (pending.decrementAndGet() == 0) {
+                result.complete(rootResult);
+            }
+        }
+    }
+}
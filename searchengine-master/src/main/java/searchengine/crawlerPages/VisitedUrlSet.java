@@ -0,0 +1,194 @@
+package searchengine.crawlerPages;
+
+import searchengine.config.VisitedSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class VisitedUrlSet {
+    private static final int SEGMENTS = 16;
+    private static final int MIN_CAPACITY = 1024;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MAX_BLOOM_WORDS = 1 << 25;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Object bloomLock = new Object();
+    private final int bloomMask;
+    private long[] bloom;
+
+    public VisitedUrlSet(VisitedSettings settings) {
+        int maxCapacity = Integer.highestOneBit((int) Math.min(
+                Math.max(settings.getMemoryBudget() / Long.BYTES / SEGMENTS, MIN_CAPACITY), 1 << 30));
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.min(MIN_CAPACITY, maxCapacity), maxCapacity);
+        }
+        if (settings.isBloomFilter()) {
+            int words = Integer.highestOneBit((int) Math.min(
+                    Math.max(settings.getBloomFilterSize() / Long.BYTES, 1), MAX_BLOOM_WORDS));
+            bloom = new long[words];
+            bloomMask = (int) ((long) words * Long.SIZE - 1);
+        } else {
+            bloom = null;
+            bloomMask = 0;
+        }
+    }
+
+    public boolean add(String url) {
+        return add(fingerprint(url));
+    }
+
+    public boolean add(long fingerprint) {
+        long fp = fingerprint == 0 ? 1 : fingerprint;
+        Segment segment = segments[(int) (fp >>> 60) & (SEGMENTS - 1)];
+        synchronized (segment) {
+            switch (segment.insert(fp)) {
+                case INSERTED:
+                    return true;
+                case PRESENT:
+                    return false;
+                default:
+                    return addToBloom(fp);
+            }
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    public long memoryBytes() {
+        long bytes;
+        synchronized (bloomLock) {
+            bytes = bloom == null ? 0 : (long) bloom.length * Long.BYTES;
+        }
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += (long) segment.table.length * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    public long[] toArray() {
+        long[] fingerprints = new long[(int) size()];
+        int i = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (long fp : segment.table) {
+                    if (fp != 0 && i < fingerprints.length) {
+                        fingerprints[i++] = fp;
+                    }
+                }
+            }
+        }
+        return i == fingerprints.length ? fingerprints : Arrays.copyOf(fingerprints, i);
+    }
+
+    public void release() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.table = new long[0];
+                segment.size = 0;
+            }
+        }
+        synchronized (bloomLock) {
+            bloom = null;
+        }
+    }
+
+    public static long fingerprint(String url) {
+        byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private boolean addToBloom(long fp) {
+        synchronized (bloomLock) {
+            if (bloom == null) {
+                return false;
+            }
+            boolean added = false;
+            int h1 = (int) fp;
+            int h2 = (int) (fp >>> 32);
+            for (int i = 0; i < 4; i++) {
+                int bit = (h1 + i * h2) & bloomMask;
+                long mask = 1L << bit;
+                if ((bloom[bit >>> 6] & mask) == 0) {
+                    bloom[bit >>> 6] |= mask;
+                    added = true;
+                }
+            }
+            return added;
+        }
+    }
+
+    private enum InsertResult {
+        INSERTED,
+        PRESENT,
+        FULL
+    }
+
+    private static class Segment {
+        private final int maxCapacity;
+        private long[] table;
+        private int size;
+
+        Segment(int capacity, int maxCapacity) {
+            this.table = new long[capacity];
+            this.maxCapacity = maxCapacity;
+        }
+
+        InsertResult insert(long fp) {
+            if (table.length == 0) {
+                return InsertResult.FULL;
+            }
+            int mask = table.length - 1;
+            int index = (int) (fp ^ (fp >>> 32)) & mask;
+            while (table[index] != 0) {
+                if (table[index] == fp) {
+                    return InsertResult.PRESENT;
+                }
+                index = (index + 1) & mask;
+            }
+            if (size + 1 > table.length * LOAD_FACTOR) {
+                if (table.length >= maxCapacity) {
+                    return InsertResult.FULL;
+                }
+                resize(table.length << 1);
+                return insert(fp);
+            }
+            table[index] = fp;
+            size++;
+            return InsertResult.INSERTED;
+        }
+
+        private void resize(int capacity) {
+            long[] old = table;
+            table = new long[capacity];
+            int mask = capacity - 1;
+            for (long fp : old) {
+                if (fp != 0) {
+                    int index = (int) (fp ^ (fp >>> 32)) & mask;
+                    while (table[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    table[index] = fp;
+                }
+            }
+        }
+    }
+}
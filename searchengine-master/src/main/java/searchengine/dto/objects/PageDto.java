@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @NoArgsConstructor
 @Getter
 @Setter
@@ -15,4 +17,11 @@ public class PageDto {
     private String path;
     private int code;
     private String content;
+    private String etag;
+    private String lastModified;
+    private String contentHash;
+    private Long simHash;
+    private Long duplicateOf;
+    private String text;
+    private List<String> links;
 }
\ No newline at end of file
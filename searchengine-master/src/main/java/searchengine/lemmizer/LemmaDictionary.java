@@ -0,0 +1,148 @@
+package searchengine.lemmizer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.config.LemmizerSettings;
+import searchengine.repositories.LemmaBatchRepository;
+import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.LemmaView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class LemmaDictionary {
+    private final LemmaRepository lemmaRepository;
+    private final LemmaBatchRepository lemmaBatchRepository;
+    private final LemmizerSettings lemmizerSettings;
+    private final Map<UUID, SiteLemmas> sites = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LemmaFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LemmaDictionary(LemmaRepository lemmaRepository, LemmaBatchRepository lemmaBatchRepository,
+                           LemmizerSettings lemmizerSettings) {
+        this.lemmaRepository = lemmaRepository;
+        this.lemmaBatchRepository = lemmaBatchRepository;
+        this.lemmizerSettings = lemmizerSettings;
+    }
+
+    @PostConstruct
+    public void init() {
+        long interval = lemmizerSettings.getFlushInterval();
+        flushTimer.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @Transactional
+    public Map<String, Long> addPage(UUID siteId, Collection<String> lemmas) {
+        SiteLemmas siteLemmas = getSite(siteId);
+        Map<String, Long> ids = new HashMap<>(lemmas.size() * 2);
+        Map<String, Integer> created = new HashMap<>();
+        for (String lemma : lemmas) {
+            Long id = siteLemmas.ids.get(lemma);
+            if (id == null) {
+                created.put(lemma, 1);
+            } else {
+                siteLemmas.pending.computeIfAbsent(lemma, key -> new LongAdder()).increment();
+                ids.put(lemma, id);
+            }
+        }
+        if (!created.isEmpty()) {
+            lemmaBatchRepository.upsert(siteId, created);
+            Map<String, Long> createdIds = lemmaBatchRepository.findIds(siteId, new ArrayList<>(created.keySet()));
+            siteLemmas.ids.putAll(createdIds);
+            ids.putAll(createdIds);
+        }
+        return ids;
+    }
+
+    @Transactional
+    public void removePage(UUID siteId, Collection<Long> lemmaIds) {
+        if (!lemmaIds.isEmpty()) {
+            lemmaRepository.addFrequency(lemmaIds, -1);
+        }
+    }
+
+    public void flush(UUID siteId) {
+        SiteLemmas siteLemmas = sites.get(siteId);
+        if (siteLemmas == null) {
+            return;
+        }
+        Map<String, Integer> deltas = new HashMap<>();
+        siteLemmas.pending.forEach((lemma, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(lemma, Math.toIntExact(delta));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            lemmaBatchRepository.upsert(siteId, deltas);
+        } catch (Exception e) {
+            log.error("Не удалось сохранить частоты лемм сайта " + siteId, e);
+            deltas.forEach((lemma, delta) ->
+                    siteLemmas.pending.computeIfAbsent(lemma, key -> new LongAdder()).add(delta));
+        }
+    }
+
+    public void flushAll() {
+        sites.keySet().forEach(this::flush);
+    }
+
+    public void evict(UUID siteId) {
+        sites.remove(siteId);
+    }
+
+    public void clear() {
+        sites.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTimer.shutdown();
+        try {
+            if (!flushTimer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Периодическая запись частот лемм не завершилась за 30 с");
+                flushTimer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flushTimer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+    }
+
+    private SiteLemmas getSite(UUID siteId) {
+        return sites.computeIfAbsent(siteId, this::load);
+    }
+
+    private SiteLemmas load(UUID siteId) {
+        SiteLemmas siteLemmas = new SiteLemmas();
+        for (LemmaView view : lemmaRepository.findAllBySiteId(siteId)) {
+            siteLemmas.ids.put(view.getLemma(), view.getId());
+        }
+        log.info("Загружен словарь лемм сайта " + siteId + ": " + siteLemmas.ids.size());
+        return siteLemmas;
+    }
+
+    private static class SiteLemmas {
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+    }
+}
@@ -1,252 +1,164 @@
 package searchengine.lemmizer;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.lucene.morphology.LuceneMorphology;
 import org.apache.lucene.morphology.english.EnglishLuceneMorphology;
 import org.apache.lucene.morphology.russian.RussianLuceneMorphology;
 import org.springframework.stereotype.Service;
-import searchengine.dto.objects.IndexData;
+import searchengine.config.LemmizerSettings;
 import searchengine.dto.objects.IndexDto;
-import searchengine.dto.objects.LemmaDto;
 import searchengine.dto.objects.PageDto;
 import searchengine.services.IndexCRUDService;
-import searchengine.services.LemmaCRUDService;
 import searchengine.services.SiteCRUDService;
 
 import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 @Slf4j
 @Service
 public class Lemmizer {
-    private final LemmaCRUDService lemmaCRUDService;
+    private final LemmaDictionary lemmaDictionary;
     private final SiteCRUDService siteCRUDService;
     private final IndexCRUDService indexCRUDService;
     LuceneMorphology luceneMorphologyRU = new RussianLuceneMorphology();
     LuceneMorphology luceneMorphologyEN = new EnglishLuceneMorphology();
     private static final String[] particleNames =
             new String[]{"МЕЖД", "ПРЕДЛ", "СОЮЗ", "CONJ", "ARTICLE", "ADJECTIVE", "PART", "ADVERB"};
-    public Lemmizer(LemmaCRUDService lemmaCRUDService, SiteCRUDService siteCRUDService, IndexCRUDService indexCRUDService) throws IOException {
-        this.lemmaCRUDService = lemmaCRUDService;
+    private static final WordInfo UNKNOWN_WORD = new WordInfo(null, true);
+    private final Cache<String, WordInfo> morphologyCache;
+    private final LemmizerSettings lemmizerSettings;
+    private final ForkJoinPool lemmatizerPool;
+
+    public Lemmizer(LemmaDictionary lemmaDictionary, SiteCRUDService siteCRUDService, IndexCRUDService indexCRUDService,
+                    LemmizerSettings lemmizerSettings, MeterRegistry meterRegistry) throws IOException {
+        this.lemmaDictionary = lemmaDictionary;
         this.siteCRUDService = siteCRUDService;
         this.indexCRUDService = indexCRUDService;
+        this.lemmizerSettings = lemmizerSettings;
+        this.lemmatizerPool = new ForkJoinPool(lemmizerSettings.getParallelism());
+        this.morphologyCache = Caffeine.newBuilder()
+                .maximumSize(lemmizerSettings.getCacheSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, morphologyCache, "lemmizer.morphology");
     }
 
     public void createLemmasAndIndex(PageDto pageDto) throws IOException {
-        Long pageId = pageDto.getId();
-
-        Map<String, Integer> lemmaCountMap = getLemmasList(pageDto.getContent());
-
-        HashSet<IndexData> indexData = new HashSet<>();
-        HashSet<LemmaDto> lemmaForUpdate = new HashSet<>();
-
-        Set<Map.Entry<String, String>> lemmaForCreate = new HashSet<>();
-        UUID siteId = UUID.fromString(siteCRUDService.getByUrl(pageDto.getSite()).getId());
-        for (String lemmaName : lemmaCountMap.keySet()) {
-            LemmaDto lemmaDto = lemmaCRUDService
-                    .getByLemmaAndSiteId(lemmaName,
-                            siteId);
-
-            if (lemmaDto == null) {
-                lemmaForCreate.add(new AbstractMap.SimpleEntry<>(pageDto.getSite(), lemmaName));
-            } else {
-                lemmaDto.setFrequency(lemmaDto.getFrequency() + 1);
-                lemmaForUpdate.add(lemmaDto);
-            }
-            LemmaDto dto = new LemmaDto();
-            dto.setLemma(lemmaName);
-            indexData.add(new IndexData(lemmaCountMap.get(lemmaName), pageId, dto));
-        }
-        HashSet<LemmaDto> updateLemmas = updateLemmas(lemmaForUpdate);
-        HashSet<LemmaDto> lemmaDtos = waitForLemmaCreation(lemmaForCreate);
-        for (IndexData data : indexData) {
-
-            Optional<LemmaDto> optionalLemmaDto = lemmaDtos.stream().filter(it -> it.getLemma().equals(data.getLemmaDto().getLemma())).findFirst();
-
-            if (optionalLemmaDto.isPresent() && optionalLemmaDto.get().getId() != null) {
-                data.setLemmaDto(optionalLemmaDto.get());
-            } else {
-                optionalLemmaDto = updateLemmas.stream().filter(it -> it.getLemma().equals(data.getLemmaDto().getLemma())).findFirst();
-                if (optionalLemmaDto.isPresent() && optionalLemmaDto.get().getId() != null) {
-                    data.setLemmaDto(optionalLemmaDto.get());
-                } else {
-
-                    LemmaDto dto = lemmaCRUDService.getByLemmaAndSiteId(data.getLemmaDto().getLemma(), siteId);
-                    data.setLemmaDto(dto);
-                    if (dto.getId() == null) {
-                        throw new EntityNotFoundException("Lemma dto not found");
-                    }
-                }
-            }
-        }
-        createIndex(indexData);
-
+        createLemmasAndIndex(pageDto, getLemmasList(pageDto.getContent()));
     }
 
-    private HashSet<LemmaDto> createLemmas(Set<Map.Entry<String, String>> lemmaForCreate) {
-        HashSet<LemmaDto> lemmaDtos = new HashSet<>();
-        for (Map.Entry<String, String> entry : lemmaForCreate) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            if (value == null || key == null) {
-                continue;
-            }
-            LemmaDto lemmaDto = new LemmaDto();
-            lemmaDto.setLemma(value);
-            lemmaDto.setFrequency(1);
-            lemmaDto.setSiteUrl(key);
-
-            lemmaDtos.add(lemmaDto);
-        }
-        HashSet<LemmaDto> createdLemmas = lemmaCRUDService.createAll(lemmaDtos);
-
-        for (LemmaDto lemma : createdLemmas) {
-            if (lemma.getId() == null) {
-                log.error("Failed to create lemma properly, lemma.id is null for " + lemma.getLemma());
-            }
-        }
-
-        return createdLemmas;
+    public void createLemmasAndIndex(PageDto pageDto, Map<String, Integer> lemmaCountMap) {
+        Long pageId = pageDto.getId();
+        UUID siteId = UUID.fromString(siteCRUDService.getByUrl(pageDto.getSite()).getId());
+        Map<String, Long> lemmaIds = lemmaDictionary.addPage(siteId, lemmaCountMap.keySet());
+        indexCRUDService.createAll(buildIndex(pageId, lemmaCountMap, lemmaIds));
     }
 
-    private HashSet<LemmaDto> waitForLemmaCreation(Set<Map.Entry<String, String>> lemmaForCreate) {
-        HashSet<LemmaDto> createdLemmas = new HashSet<>();
-        boolean allLemmasCreated = false;
-
-        while (!allLemmasCreated) {
-            createdLemmas = createLemmas(lemmaForCreate);
-            allLemmasCreated = createdLemmas.size() == lemmaForCreate.size();
-
-            if (!allLemmasCreated) {
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    log.error("Interrupted while waiting for lemma creation", e);
-                    Thread.currentThread().interrupt();
-                }
+    static HashSet<IndexDto> buildIndex(Long pageId, Map<String, Integer> lemmaCountMap, Map<String, Long> lemmaIds) {
+        HashSet<IndexDto> dtos = new HashSet<>(lemmaCountMap.size() * 2);
+        lemmaCountMap.forEach((lemmaName, count) -> {
+            Long lemmaId = lemmaIds.get(lemmaName);
+            if (lemmaId == null) {
+                throw new EntityNotFoundException("Lemma dto not found");
             }
-        }
-
-        return createdLemmas;
-    }
-
-    private HashSet<LemmaDto> updateLemmas(HashSet<LemmaDto> lemmaForUpdate) {
-        return lemmaCRUDService.updateAll(lemmaForUpdate);
-    }
-
-    private void createIndex(HashSet<IndexData> indexData) {
-        HashSet<IndexDto> dtos = new HashSet<>();
-        for (IndexData data : indexData) {
             IndexDto dto = new IndexDto();
-            dto.setPageId(data.getPageId());
-            if (data.getLemmaDto().getId() == null) {
-                throw new EntityNotFoundException("ID LemmaDto is null");
-            }
-            dto.setLemmaId(Math.toIntExact(data.getLemmaDto().getId()));
-            dto.setRankValue(data.getLemmaCount());
+            dto.setPageId(pageId);
+            dto.setLemmaId(Math.toIntExact(lemmaId));
+            dto.setRankValue(count);
             dtos.add(dto);
-        }
-        indexCRUDService.createAll(dtos);
+        });
+        return dtos;
     }
 
     public Map<String, Integer> getLemmasList(String text) throws IOException {
-        Map<String, Integer> lemmaCountMap = new HashMap<>();
+        Map<String, int[]> counts = text.length() > lemmizerSettings.getParallelThreshold()
+                ? lemmatizerPool.invoke(new LemmaCountTask(text, 0, text.length()))
+                : countLemmas(text);
+        Map<String, Integer> lemmaCountMap = new HashMap<>(counts.size() * 2);
+        counts.forEach((lemma, count) -> lemmaCountMap.put(lemma, count[0]));
+        return lemmaCountMap;
+    }
 
-        List<String> cleanText = getTextAsList(text);
-        List<String> wordList = getNormalWords(cleanText);
-        for (String word : wordList) {
-            if (lemmaCountMap.containsKey(word)) {
-                lemmaCountMap.put(word, lemmaCountMap.get(word) + 1);
-            } else {
-                lemmaCountMap.put(word, 1);
+    private Map<String, int[]> countLemmas(CharSequence text) {
+        Map<String, int[]> counts = new HashMap<>();
+        WordTokenizer.tokenize(text, (word, script) -> {
+            WordInfo wordInfo = analyzeWord(word);
+            if (!wordInfo.particle()) {
+                counts.computeIfAbsent(wordInfo.normalForm(), lemma -> new int[1])[0]++;
             }
-        }
-
-        return lemmaCountMap;
+        });
+        return counts;
     }
 
     public List<String> getNormalWords(String text) throws IOException {
-        List<String> cleanText = getTextAsList(text);
-        return getNormalWords(cleanText);
+        List<String> normalWords = new ArrayList<>();
+        WordTokenizer.tokenize(text, (word, script) -> {
+            WordInfo wordInfo = analyzeWord(word);
+            if (!wordInfo.particle()) {
+                normalWords.add(wordInfo.normalForm());
+            }
+        });
+        return normalWords;
     }
-    public List<String> getTextAsList(String text){
-        String regex = "[^а-яА-Яa-zA-Z -]";
-        String regex1 = "[ ]{2,}";
-        String cleanText0 = text.replaceAll(regex, "");
-        String cleanText1 = cleanText0.replaceAll(regex1, " ");
-        log.info("Clean text: " + cleanText1);
 
+    public List<String> getTextAsList(String text){
         List<String> words = new ArrayList<>();
-        for (String word : cleanText1.split(" ")) {
-            if (word == null || word.isEmpty()) continue;
-            log.info("Get Text as List word: " + word);
-
-            String lowerCaseWord = word.toLowerCase();
-            log.info("Lowercase word: " + lowerCaseWord);
-
-            if (isRussianWord(lowerCaseWord)) {
-                try {
-                    List<String> morphInfoList = luceneMorphologyRU.getMorphInfo(lowerCaseWord);
-                    if (morphInfoList != null && !morphInfoList.isEmpty()) {
-                        String wordWithInfo = morphInfoList.toString();
-                        log.info("Word with info (RU): " + wordWithInfo);
-
-                        if (!hasParticleProperty(wordWithInfo)) {
-                            words.add(lowerCaseWord);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing Russian word: " + lowerCaseWord, e);
-                }
-            } else if (isEnglishWord(lowerCaseWord)) {
-
-                try {
-                    List<String> morphInfoList = luceneMorphologyEN.getMorphInfo(lowerCaseWord);
-                    if (morphInfoList != null && !morphInfoList.isEmpty()) {
-                        String wordWithInfo = morphInfoList.toString();
-                        log.info("Word with info (EN): " + wordWithInfo);
-
-                        if (!hasParticleProperty(wordWithInfo)) {
-                            words.add(lowerCaseWord);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing English word: " + lowerCaseWord, e);
-                }
+        WordTokenizer.tokenize(text, (word, script) -> {
+            if (!analyzeWord(word).particle()) {
+                words.add(word);
             }
-        }
+        });
         return words;
     }
 
-    private boolean isRussianWord(String word) {
-        return word.matches("[а-яА-Я]+");
+    public WordInfo analyzeWord(String word) {
+        return morphologyCache.get(word, this::analyze);
     }
 
-    private boolean isEnglishWord(String word) {
-        return word.matches("[a-zA-Z]+");
+    private WordInfo analyze(String word) {
+        WordTokenizer.Script script = WordTokenizer.scriptOf(word);
+        if (script == null) {
+            return UNKNOWN_WORD;
+        }
+        LuceneMorphology morphology = script == WordTokenizer.Script.RUSSIAN ? luceneMorphologyRU : luceneMorphologyEN;
+        try {
+            List<String> morphInfoList = morphology.getMorphInfo(word);
+            if (morphInfoList == null || morphInfoList.isEmpty()) {
+                return UNKNOWN_WORD;
+            }
+            String firstInfo = morphInfoList.get(0);
+            int separator = firstInfo.indexOf('|');
+            String normalForm = separator < 0 ? word : firstInfo.substring(0, separator);
+            boolean particle = false;
+            for (String morphInfo : morphInfoList) {
+                particle |= hasParticleProperty(morphInfo.substring(morphInfo.indexOf('|') + 1));
+            }
+            log.debug("Word with info: {}", morphInfoList);
+            return new WordInfo(normalForm, particle);
+        } catch (Exception e) {
+            log.error("Error processing word: " + word, e);
+            return UNKNOWN_WORD;
+        }
     }
 
     public List<String> getNormalWords(List<String> words){
         List<String> normalWords = new ArrayList<>();
         for (String word : words) {
-            List<String> normalForms;
-            String normalForm = new String();
-            String lowerCaseWord = word.toLowerCase();
-            if (isRussianWord(lowerCaseWord)) {
-                normalForms = luceneMorphologyRU.getNormalForms(lowerCaseWord);
-                log.warn("Normal forms " + normalForms);
-                normalForm = normalForms.get(0);
-            } else if (isEnglishWord(lowerCaseWord)) {
-                normalForms = luceneMorphologyEN.getNormalForms(lowerCaseWord);
-
-                log.warn("Normal forms " + normalForms);
-                normalForm = normalForms.get(0);//getFirst();
-            }
-            if (normalForm.isEmpty()) {
-                continue;
-            }
-            normalWords.add(normalForm);
+            WordTokenizer.tokenize(word, (token, script) -> {
+                String normalForm = analyzeWord(token).normalForm();
+                if (normalForm != null && !normalForm.isEmpty()) {
+                    normalWords.add(normalForm);
+                }
+            });
         }
         return normalWords;
     }
@@ -260,4 +172,50 @@ public class Lemmizer {
         return false;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        lemmatizerPool.shutdownNow();
+    }
+
+    private class LemmaCountTask extends RecursiveTask<Map<String, int[]>> {
+        private final String text;
+        private final int from;
+        private final int to;
+
+        LemmaCountTask(String text, int from, int to) {
+            this.text = text;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, int[]> compute() {
+            int split = (from + to) >>> 1;
+            while (split < to && !Character.isWhitespace(text.charAt(split))) {
+                split++;
+            }
+            if (to - from <= lemmizerSettings.getChunkSize() || split == to) {
+                return countLemmas(CharBuffer.wrap(text, from, to));
+            }
+            LemmaCountTask left = new LemmaCountTask(text, from, split);
+            left.fork();
+            Map<String, int[]> right = new LemmaCountTask(text, split, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private Map<String, int[]> merge(Map<String, int[]> first, Map<String, int[]> second) {
+            Map<String, int[]> target = first.size() >= second.size() ? first : second;
+            Map<String, int[]> source = target == first ? second : first;
+            source.forEach((lemma, count) -> {
+                int[] existing = target.putIfAbsent(lemma, count);
+                if (existing != null) {
+                    existing[0] += count[0];
+                }
+            });
+            return target;
+        }
+    }
+
+    public record WordInfo(String normalForm, boolean particle) {
+    }
 }
@@ -0,0 +1,78 @@
+package searchengine.lemmizer;
+
+public final class WordTokenizer {
+
+    public enum Script {
+        RUSSIAN,
+        ENGLISH
+    }
+
+    @FunctionalInterface
+    public interface TokenConsumer {
+        void accept(String token, Script script);
+    }
+
+    private WordTokenizer() {
+    }
+
+    public static void tokenize(CharSequence text, TokenConsumer consumer) {
+        char[] buffer = new char[32];
+        int length = 0;
+        Script runScript = null;
+        boolean mixed = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            char lower;
+            Script script;
+            if (c >= 'а' && c <= 'я') {
+                lower = c;
+                script = Script.RUSSIAN;
+            } else if (c >= 'А' && c <= 'Я') {
+                lower = (char) (c + ('а' - 'А'));
+                script = Script.RUSSIAN;
+            } else if (c == 'ё' || c == 'Ё') {
+                lower = 'е';
+                script = Script.RUSSIAN;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = c;
+                script = Script.ENGLISH;
+            } else if (c >= 'A' && c <= 'Z') {
+                lower = (char) (c + ('a' - 'A'));
+                script = Script.ENGLISH;
+            } else {
+                if (length > 0 && !mixed) {
+                    consumer.accept(new String(buffer, 0, length), runScript);
+                }
+                length = 0;
+                runScript = null;
+                mixed = false;
+                continue;
+            }
+            if (runScript == null) {
+                runScript = script;
+            } else if (runScript != script) {
+                mixed = true;
+            }
+            if (length == buffer.length) {
+                char[] grown = new char[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+            buffer[length++] = lower;
+        }
+    }
+
+    public static Script scriptOf(String word) {
+        if (word.isEmpty()) {
+            return null;
+        }
+        char c = word.charAt(0);
+        if ((c >= 'а' && c <= 'я') || c == 'ё') {
+            return Script.RUSSIAN;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return Script.ENGLISH;
+        }
+        return null;
+    }
+}
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "Lemma")
+@Table(name = "Lemma", uniqueConstraints = @UniqueConstraint(name = "uk_lemma_site_lemma", columnNames = {"site_id", "lemma"}))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -15,10 +15,6 @@ import lombok.Setter;
 public class LemmaModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @SequenceGenerator(
-            name = "lemma_sequence",
-            allocationSize = 100
-    )
     private Long id;
     // @Column(name = "site_id", nullable = false)
     @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL, optional = true)//cascade = {CascadeType.PERSIST, CascadeType.MERGE}
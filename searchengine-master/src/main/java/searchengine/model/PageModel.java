@@ -17,19 +17,33 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 public class PageModel {
+    public static final int MAX_PATH_LENGTH = 768;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)//cascade = {CascadeType.PERSIST, CascadeType.MERGE}
     @JoinColumn(name = "site_id", nullable = false)
     private SiteModel site;
-    @Column(name = "path", nullable = false, length = 255)
+    @Column(name = "path", nullable = false, length = MAX_PATH_LENGTH)
     private String path;
     @Column(name = "code", nullable = false)
     private int code;
     //@Column(name = "content", nullable = false, columnDefinition = "MEDIUMTEXT")
     @Column(name = "content", nullable = false, columnDefinition = "MEDIUMTEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
     private String content;
+    @Column(name = "etag", length = 255)
+    private String etag;
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    @Column(name = "simhash")
+    private Long simHash;
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+    @Column(name = "links", columnDefinition = "MEDIUMTEXT")
+    private String links;
     @OneToMany(mappedBy = "page", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<IndexModel> indexes;
 }
@@ -23,7 +23,7 @@ public class SiteModel {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false, columnDefinition = "ENUM('FAILED', 'INDEXED', 'INDEXING')")
+    @Column(name = "status", nullable = false, columnDefinition = "ENUM('FAILED', 'INDEXED', 'INDEXING', 'BUDGET_REACHED')")
     private Status status;
     @Column(name = "status_time", nullable = false)
     private LocalDateTime statusTime;
@@ -3,5 +3,6 @@ package searchengine.model;
 public enum Status {
     INDEXING,
     INDEXED,
-    FAILED
+    FAILED,
+    BUDGET_REACHED
 }
@@ -0,0 +1,30 @@
+package searchengine.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import searchengine.dto.objects.IndexDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class IndexBatchRepository {
+    private static final String INSERT_SQL = "INSERT INTO index_table (page_id, lemma_id, rank_value) VALUES (?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndexBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Collection<IndexDto> indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(indexes.size());
+        for (IndexDto index : indexes) {
+            rows.add(new Object[]{index.getPageId(), index.getLemmaId(), index.getRankValue()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
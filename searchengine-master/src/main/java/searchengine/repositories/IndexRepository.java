@@ -12,6 +12,7 @@ import searchengine.model.IndexModel;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 @Repository
 public interface IndexRepository extends JpaRepository<IndexModel, IndexKey> {
@@ -27,4 +28,6 @@ public interface IndexRepository extends JpaRepository<IndexModel, IndexKey> {
     List<IndexModel> findAllByPageIds(@Param("pageIds") Set<Long> pageIds);
     @Query("SELECT i FROM IndexModel i WHERE i.id.lemmaId IN :lemmaIds")
     List<IndexModel> findAllByLemmaIds(@Param("lemmaIds")Set<Long> lemmaIds);
+    @Query("SELECT DISTINCT i.key.pageId FROM IndexModel i WHERE i.page.site.id = :siteId")
+    Set<Long> findIndexedPageIds(@Param("siteId") UUID siteId);
 }
@@ -0,0 +1,64 @@
+package searchengine.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class LemmaBatchRepository {
+    private static final String UPSERT_SQL = "INSERT INTO lemma (site_id, lemma, frequency) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE frequency = frequency + VALUES(frequency)";
+    private static final int SELECT_CHUNK_SIZE = 1000;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LemmaBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsert(UUID siteId, Map<String, Integer> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        byte[] site = toBytes(siteId);
+        List<String> lemmas = new ArrayList<>(increments.keySet());
+        Collections.sort(lemmas);
+        List<Object[]> rows = new ArrayList<>(lemmas.size());
+        for (String lemma : lemmas) {
+            rows.add(new Object[]{site, lemma, increments.get(lemma)});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    public Map<String, Long> findIds(UUID siteId, List<String> lemmas) {
+        Map<String, Long> ids = new HashMap<>(lemmas.size() * 2);
+        byte[] site = toBytes(siteId);
+        for (int from = 0; from < lemmas.size(); from += SELECT_CHUNK_SIZE) {
+            List<String> chunk = lemmas.subList(from, Math.min(from + SELECT_CHUNK_SIZE, lemmas.size()));
+            String sql = "SELECT id, lemma FROM lemma WHERE site_id = ? AND lemma IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = site;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(sql, rs -> {
+                ids.put(rs.getString("lemma"), rs.getLong("id"));
+            }, args);
+        }
+        return ids;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -1,10 +1,12 @@
 package searchengine.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import searchengine.model.LemmaModel;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +14,11 @@ import java.util.UUID;
 @Repository
 public interface LemmaRepository extends JpaRepository<LemmaModel, Integer> {
     List<LemmaModel> findByLemma(String lemma);
+    Optional<LemmaModel> findFirstByLemmaAndSiteId(String lemma, UUID siteId);
+    List<LemmaView> findAllBySiteId(UUID siteId);
 
+    @Modifying
+    @Query("UPDATE LemmaModel l SET l.frequency = l.frequency + :delta WHERE l.id IN :ids")
+    int addFrequency(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
 
 }
@@ -0,0 +1,7 @@
+package searchengine.repositories;
+
+public interface LemmaView {
+    Long getId();
+
+    String getLemma();
+}
@@ -1,6 +1,9 @@
 package searchengine.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import searchengine.model.PageModel;
 
@@ -13,4 +16,10 @@ public interface PageRepository extends JpaRepository<PageModel, Integer> {
     List<PageModel> findByPathAndSiteUrl(String url, String sitePath);
     Boolean existsByPathAndSiteId(String path, UUID siteId);
     Set<PageModel> findAllByIdIn(Set<Long> ids);
+    List<PageValidatorsView> findAllBySiteId(UUID siteId);
+    @Query("SELECT p.links FROM PageModel p WHERE p.id = :id")
+    String findLinksById(@Param("id") Long id);
+    @Modifying
+    @Query("UPDATE PageModel p SET p.code = :code WHERE p.id = :id")
+    int updateCode(@Param("id") Long id, @Param("code") int code);
 }
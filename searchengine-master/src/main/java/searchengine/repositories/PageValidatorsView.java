@@ -0,0 +1,17 @@
+package searchengine.repositories;
+
+public interface PageValidatorsView {
+    Long getId();
+
+    String getPath();
+
+    String getEtag();
+
+    String getLastModified();
+
+    String getContentHash();
+
+    Long getSimHash();
+
+    Long getDuplicateOf();
+}
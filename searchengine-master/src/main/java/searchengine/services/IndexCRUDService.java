@@ -12,6 +12,7 @@ import searchengine.model.IndexKey;
 import searchengine.model.IndexModel;
 import searchengine.model.LemmaModel;
 import searchengine.model.PageModel;
+import searchengine.repositories.IndexBatchRepository;
 import searchengine.repositories.IndexRepository;
 
 import javax.persistence.EntityNotFoundException;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 
 public class IndexCRUDService {
     private final IndexRepository indexRepository;
+    private final IndexBatchRepository indexBatchRepository;
     private final PageCRUDService pageCRUDService;
 
 
@@ -42,11 +44,7 @@ public class IndexCRUDService {
     }
     @Transactional
     public void createAll(HashSet<IndexDto> indexDtoSet){
-        HashSet<IndexModel> models = new HashSet<>();
-        for(IndexDto index : indexDtoSet){
-            models.add(mapToModel(index));
-        }
-        indexRepository.saveAllAndFlush(models);
+        indexBatchRepository.insert(indexDtoSet);
     }
     @Transactional
     public void update(IndexDto item) {
@@ -118,6 +116,11 @@ public class IndexCRUDService {
 
         return indexesByPageId;
     }
+    @Transactional
+    public Set<Long> findIndexedPageIds(String siteId) {
+        return indexRepository.findIndexedPageIds(UUID.fromString(siteId));
+    }
+
     @Transactional
     public Set<IndexDto> findAllByLemmaId(Set<Long> lemmaIds){
         List<IndexModel> models =  indexRepository.findAllByLemmaIds(lemmaIds);
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import searchengine.config.CrawlerSettings;
 import searchengine.config.SitesList;
 import searchengine.config.Site;
 import searchengine.crawlerPages.PageIndexer;
@@ -25,6 +26,8 @@ import java.util.concurrent.Executors;
 public class IndexingService {
     @Autowired
     private SitesList siteList;
+    @Autowired
+    private CrawlerSettings crawlerSettings;
     private final SiteCRUDService siteCRUDService;
     private final SiteMapManager siteMapManager;
     private final PageIndexer pageIndexer;
@@ -56,13 +59,24 @@ public class IndexingService {
     public void createSitesMaps() {
         try {
             siteMapManager.isIndexingActive.set(true);
-            deleteSitesData();
+            if (!crawlerSettings.isIncremental()) {
+                deleteSitesData();
+            }
             siteMapManager.start();
         } catch (Exception e) {
             log.error("Exception during site maps creation", e);
         }
     }
 
+    public void resumeSitesMaps() {
+        try {
+            siteMapManager.isIndexingActive.set(true);
+            siteMapManager.resume();
+        } catch (Exception e) {
+            log.error("Exception during site maps resume", e);
+        }
+    }
+
     public boolean isIndexingActive() {
         return siteMapManager.isIndexingActive();
     }
@@ -98,6 +112,20 @@ public class IndexingService {
         }
     }
 
+    public ResponseEntity<?> resumeIndexingSync() {
+        if (!isIndexingActive()) {
+            siteMapManager.isIndexingActive.set(true);
+            executorService.submit(() -> {
+                resumeSitesMaps();
+            });
+            return ResponseEntity.ok(Map.of("result", true));
+        } else {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("result", false, "error", "Индексация уже запущена"));
+        }
+    }
+
     public ResponseEntity<?> stopIndexingSites() {
         boolean isIndexingActive = isIndexingActive();
         if (isIndexingActive) {
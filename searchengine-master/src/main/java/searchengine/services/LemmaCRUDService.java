@@ -49,8 +49,7 @@ public class LemmaCRUDService implements CRUDService<LemmaDto> {
             backoff = @Backoff(delay = 2000))
     public LemmaDto getByLemmaAndSiteId(String lemma, UUID uuid) {
 
-        Optional<LemmaModel> modelO = lemmaRepository
-                .findAll().stream().filter(it -> it.getLemma().equals(lemma) && it.getSite().getId().equals(uuid)).findFirst();
+        Optional<LemmaModel> modelO = lemmaRepository.findFirstByLemmaAndSiteId(lemma, uuid);
         if (modelO.isPresent()) {
             return mapToDto(modelO.get());
         }
@@ -103,21 +102,6 @@ public class LemmaCRUDService implements CRUDService<LemmaDto> {
         lemmaRepository.save(lemmaM);
     }
 
-    @Transactional
-    @Retryable(
-            value = {DeadlockLoserDataAccessException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 2000))
-    public HashSet<LemmaDto> createAll(HashSet<LemmaDto> lemmaDtoHashSet) {
-        HashSet<LemmaModel> lemmaModels = new HashSet<>();
-        for (LemmaDto dto : lemmaDtoHashSet) {
-            dto.setFrequency(1);
-            lemmaModels.add(mapToModel(dto));
-        }
-        return lemmaRepository.saveAll(lemmaModels).stream()
-                .map(this::mapToDto).collect(Collectors.toCollection(HashSet::new));
-    }
-
     @Override
     @Transactional
     @Retryable(
@@ -142,35 +126,6 @@ public class LemmaCRUDService implements CRUDService<LemmaDto> {
         lemmaRepository.save(existingLemma);
     }
 
-    @Transactional
-    @Retryable(
-            value = {DeadlockLoserDataAccessException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 2000))
-    public HashSet<LemmaDto> updateAll(HashSet<LemmaDto> lemmaDtos) {
-        List<Integer> ids = lemmaDtos.stream().map(dto -> Math.toIntExact(dto.getId())).collect(Collectors.toList());
-        List<LemmaModel> existingLemmas = lemmaRepository.findAllById(ids);
-        Map<Integer, LemmaDto> lemmaDtoMap = lemmaDtos.stream()
-                .collect(Collectors.toMap(dto -> Math.toIntExact(dto.getId()), dto -> dto));
-        List<LemmaModel> lemmasToUpdate = new ArrayList<>();
-
-        for (LemmaModel existingLemma : existingLemmas) {
-            LemmaDto lemmaDto = lemmaDtoMap.get(Math.toIntExact(existingLemma.getId()));
-            if (lemmaDto != null) {
-                SiteModel siteM = siteCRUDService.findByUrl(lemmaDto.getSiteUrl());
-                if (siteM == null) {
-                    throw new EntityNotFoundException("SiteModel not found for URL: " + lemmaDto.getSiteUrl());
-                }
-                existingLemma.setLemma(lemmaDto.getLemma());
-                existingLemma.setFrequency(lemmaDto.getFrequency());
-                existingLemma.setSite(siteM);
-                lemmasToUpdate.add(existingLemma);
-            }
-        }
-        return lemmaRepository.saveAll(lemmasToUpdate).stream()
-                .map(this::mapToDto).collect(Collectors.toCollection(HashSet::new));
-    }
-
     @Override
     @Transactional
     @Retryable(
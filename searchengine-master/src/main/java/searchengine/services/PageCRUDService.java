@@ -11,12 +11,14 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import searchengine.config.Site;
 import searchengine.config.SitesList;
+import searchengine.crawlerPages.ContentExtractor;
 import searchengine.dto.objects.IndexDto;
-import searchengine.dto.objects.LemmaDto;
 import searchengine.dto.objects.PageDto;
 import searchengine.dto.objects.SiteDto;
+import searchengine.lemmizer.LemmaDictionary;
 import searchengine.model.*;
 import searchengine.repositories.PageRepository;
+import searchengine.repositories.PageValidatorsView;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
@@ -35,9 +37,11 @@ public class PageCRUDService implements CRUDService<PageDto> {
     @Autowired
     private IndexCRUDService indexCRUDService;
     @Autowired
-    private LemmaCRUDService lemmaCRUDService;
+    private LemmaDictionary lemmaDictionary;
     @Autowired
     private SitesList siteList;
+    @Autowired
+    private ContentExtractor contentExtractor;
 
     @Transactional
     @Override
@@ -102,13 +106,13 @@ public class PageCRUDService implements CRUDService<PageDto> {
         } else {
             throw new EntityNotFoundException("Site model not found for URL: " + pageM.getSite().getUrl());
         }
-        pageM.setContent(parseHtml(item.getContent()));
+        pageM.setContent(item.getText() != null ? item.getText() : parseHtml(item.getSite(), item.getContent()));
         pageRepository.save(pageM);
     }
 
-    private String parseHtml(String html){
+    private String parseHtml(String site, String html){
         Document document = Jsoup.parse(html);
-        return document.body().text();
+        return contentExtractor.extract(site, document);
     }
 
     @Transactional
@@ -118,24 +122,59 @@ public class PageCRUDService implements CRUDService<PageDto> {
         pageRepository.save(pageModel);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    @Override
-    public void delete(Long id) {
-        if (pageRepository.existsById(id.intValue())) {
-
-            List<IndexDto> indexes = indexCRUDService.getAll().stream().filter(it -> it.getPageId().equals(id)).toList();
+    @Transactional
+    public void updateValidators(PageDto item) {
+        PageModel pageModel = pageRepository.findById(item.getId().intValue())
+                .orElseThrow(() -> new EntityNotFoundException("Page not found with id: " + item.getId()));
+        pageModel.setEtag(item.getEtag());
+        pageModel.setLastModified(item.getLastModified());
+        if (item.getLinks() != null) {
+            pageModel.setLinks(String.join("\n", item.getLinks()));
+        }
+        pageRepository.save(pageModel);
+    }
 
-            indexes.forEach(index -> {
-                LemmaDto lemma = lemmaCRUDService.getById(Long.valueOf(index.getLemmaId()));
-                lemma.setFrequency(lemma.getFrequency() - 1);
-                lemmaCRUDService.update(lemma);
+    @Transactional
+    public List<String> getLinks(Long id) {
+        String links = pageRepository.findLinksById(id);
+        if (links == null) {
+            return null;
+        }
+        return links.isEmpty() ? List.of() : List.of(links.split("\n"));
+    }
 
-            });
-            pageRepository.deleteById(id.intValue());
+    @Transactional
+    public void updateCode(Long id, int code) {
+        pageRepository.updateCode(id, code);
+    }
 
-        } else {
-            throw new EntityNotFoundException("Page not found with id: " + id);
+    @Transactional
+    public Map<String, PageDto> getValidatorsBySiteId(String siteId) {
+        Map<String, PageDto> validators = new HashMap<>();
+        for (PageValidatorsView view : pageRepository.findAllBySiteId(UUID.fromString(siteId))) {
+            PageDto pageDto = new PageDto();
+            pageDto.setId(view.getId());
+            pageDto.setPath(view.getPath());
+            pageDto.setEtag(view.getEtag());
+            pageDto.setLastModified(view.getLastModified());
+            pageDto.setContentHash(view.getContentHash());
+            pageDto.setSimHash(view.getSimHash());
+            pageDto.setDuplicateOf(view.getDuplicateOf());
+            validators.put(view.getPath(), pageDto);
         }
+        return validators;
+    }
+
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Override
+    public void delete(Long id) {
+        PageModel page = pageRepository.findById(id.intValue())
+                .orElseThrow(() -> new EntityNotFoundException("Page not found with id: " + id));
+        Set<Long> lemmaIds = indexCRUDService.findByPageId(id).stream()
+                .map(index -> (long) index.getLemmaId())
+                .collect(Collectors.toSet());
+        lemmaDictionary.removePage(page.getSite().getId(), lemmaIds);
+        pageRepository.delete(page);
     }
 
     public PageDto mapToDto(PageModel page) {
@@ -145,6 +184,11 @@ public class PageCRUDService implements CRUDService<PageDto> {
         pageDto.setSite(page.getSite().getUrl());
         pageDto.setContent(page.getContent());
         pageDto.setPath(page.getPath());
+        pageDto.setEtag(page.getEtag());
+        pageDto.setLastModified(page.getLastModified());
+        pageDto.setContentHash(page.getContentHash());
+        pageDto.setSimHash(page.getSimHash());
+        pageDto.setDuplicateOf(page.getDuplicateOf());
 
         return pageDto;
     }
@@ -162,6 +206,12 @@ public class PageCRUDService implements CRUDService<PageDto> {
         pageM.setPath(pageDto.getPath());
         pageM.setCode(pageDto.getCode());
         pageM.setContent(pageDto.getContent().toString());
+        pageM.setEtag(pageDto.getEtag());
+        pageM.setLastModified(pageDto.getLastModified());
+        pageM.setContentHash(pageDto.getContentHash());
+        pageM.setSimHash(pageDto.getSimHash());
+        pageM.setDuplicateOf(pageDto.getDuplicateOf());
+        pageM.setLinks(pageDto.getLinks() == null ? null : String.join("\n", pageDto.getLinks()));
 
         return pageM;
     }
@@ -179,6 +229,12 @@ public class PageCRUDService implements CRUDService<PageDto> {
         pageM.setPath(pageDto.getPath());
         pageM.setCode(pageDto.getCode());
         pageM.setContent(pageDto.getContent());
+        pageM.setEtag(pageDto.getEtag());
+        pageM.setLastModified(pageDto.getLastModified());
+        pageM.setContentHash(pageDto.getContentHash());
+        pageM.setSimHash(pageDto.getSimHash());
+        pageM.setDuplicateOf(pageDto.getDuplicateOf());
+        pageM.setLinks(pageDto.getLinks() == null ? null : String.join("\n", pageDto.getLinks()));
 
         return pageM;
     }
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import searchengine.config.Site;
 import searchengine.dto.objects.SiteDto;
+import searchengine.lemmizer.LemmaDictionary;
 import searchengine.model.SiteModel;
 import searchengine.model.Status;
 import searchengine.repositories.SiteRepository;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 public class SiteCRUDService  {
 
     private final SiteRepository siteRepository;
+    private final LemmaDictionary lemmaDictionary;
 
     @Transactional
     public SiteDto getById(UUID uuid) {
@@ -88,6 +90,7 @@ public class SiteCRUDService  {
         if (siteRepository.existsById(uuid)) {
             log.warn("Delete site by id");
             siteRepository.deleteById(uuid);
+            lemmaDictionary.evict(uuid);
         } else {
             throw new EntityNotFoundException("Site not found");
         }
@@ -96,6 +99,7 @@ public class SiteCRUDService  {
     public void deleteAll() throws Exception {
         try{
             siteRepository.deleteAll();
+            lemmaDictionary.clear();
         }catch (Exception ex){
             throw new Exception("Problems with deleting all site");
         }
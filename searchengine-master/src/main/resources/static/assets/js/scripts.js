@@ -1593,6 +1593,7 @@ var API = function(){
                         var statusClass = '';
                         switch (site.status) {
                             case 'INDEXED':
+                            case 'BUDGET_REACHED':
                                 statusClass = 'Statistics-status_checked';
                                 break;
                             case 'FAILED':
@@ -0,0 +1,87 @@
+package searchengine.crawlerPages;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import searchengine.config.BudgetSettings;
+import searchengine.config.CrawlEngineType;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.Site;
+import searchengine.dto.objects.PageDto;
+import searchengine.lemmizer.Lemmizer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CrawlBudgetTest {
+    private final CrawlerSettings crawlerSettings = new CrawlerSettings();
+    private final PageProcessor pageProcessor = mock(PageProcessor.class);
+    private final Lemmizer lemmizer = mock(Lemmizer.class);
+    private final AtomicInteger linkCounter = new AtomicInteger();
+
+    @ParameterizedTest
+    @CsvSource({"FORK_JOIN, 1", "FORK_JOIN, 7", "VIRTUAL_THREADS, 1", "VIRTUAL_THREADS, 7", "PIPELINE, 1", "PIPELINE, 7"})
+    void everyEngineIndexesExactlyMaxPages(CrawlEngineType type, int maxPages) throws Exception {
+        CrawlContext context = newContext(maxPages);
+        stubPageProcessor();
+        CrawlEngine engine = switch (type) {
+            case FORK_JOIN -> new ForkJoinCrawlEngine(crawlerSettings, pageProcessor);
+            case VIRTUAL_THREADS -> new VirtualThreadCrawlEngine(crawlerSettings, pageProcessor, lemmizer);
+            case PIPELINE -> new PipelineCrawlEngine(crawlerSettings, pageProcessor, lemmizer);
+        };
+        engine.start();
+        try {
+            engine.crawl(context).get(30, TimeUnit.SECONDS);
+        } finally {
+            engine.stop();
+        }
+
+        if (type == CrawlEngineType.FORK_JOIN) {
+            verify(pageProcessor, times(maxPages)).indexPage(any(), any());
+        } else {
+            verify(pageProcessor, times(maxPages)).storePage(any(), any());
+        }
+        verify(pageProcessor, atLeast(1)).createPageDto(any());
+        assertThat(context.getBudgetReached()).isNotNull();
+    }
+
+    private CrawlContext newContext(int maxPages) {
+        BudgetSettings budget = new BudgetSettings();
+        budget.setMaxPages(maxPages);
+        Site site = new Site();
+        site.setUrl("https://example.com");
+        site.setName("example");
+        site.setBudget(budget);
+        return new CrawlContext(site, "site", new AtomicBoolean(true), crawlerSettings);
+    }
+
+    private void stubPageProcessor() throws Exception {
+        when(pageProcessor.fetch(any(), anyString())).thenAnswer(it -> fetchResult(it.getArgument(1)));
+        when(pageProcessor.fetchAsync(any(), anyString(), any())).thenAnswer(it ->
+                CompletableFuture.completedFuture(fetchResult(it.getArgument(1))));
+        when(pageProcessor.extractLinks(any(), any())).thenAnswer(it -> List.of(
+                "https://example.com/page" + linkCounter.incrementAndGet() + "/",
+                "https://example.com/page" + linkCounter.incrementAndGet() + "/",
+                "https://example.com/page" + linkCounter.incrementAndGet() + "/"));
+        when(pageProcessor.createPageDto(any())).thenAnswer(it -> new PageDto());
+        when(pageProcessor.storePage(any(), any())).thenAnswer(it -> it.getArgument(1));
+        when(lemmizer.getLemmasList(any())).thenReturn(Map.of());
+    }
+
+    private static FetchResult fetchResult(String url) {
+        return new FetchResult(url, 200, Map.of(), Jsoup.parse("<p>text</p>", url), 11);
+    }
+}
@@ -0,0 +1,84 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.BudgetSettings;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.Site;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrawlContextTest {
+    private static final String ROOT = "https://example.com/";
+
+    private final CrawlerSettings crawlerSettings = new CrawlerSettings();
+
+    private CrawlContext newContext() {
+        Site site = new Site();
+        site.setUrl("https://example.com");
+        site.setName("example");
+        return new CrawlContext(site, "site", new AtomicBoolean(true), crawlerSettings);
+    }
+
+    @Test
+    void checkpointKeepsUnfinishedUrlsPendingOnResume() {
+        CrawlContext context = newContext();
+        context.markVisited(ROOT, 0);
+        context.markVisited(ROOT + "a/", 1);
+        context.markVisited(ROOT + "b/", 1);
+        context.markDone(ROOT);
+
+        CrawlContext resumed = newContext();
+        resumed.restore(context.checkpoint(), List.of());
+
+        assertThat(resumed.getSeeds()).containsOnlyKeys(ROOT + "a/", ROOT + "b/");
+        assertThat(resumed.markVisited(ROOT, 0)).isFalse();
+        assertThat(resumed.markVisited(ROOT + "a/", 1)).isTrue();
+    }
+
+    @Test
+    void requeuedPathsAreAddedToFrontier() {
+        CrawlContext context = newContext();
+        context.markVisited(ROOT, 0);
+        context.markVisited(ROOT + "stored/", 1);
+        context.markDone(ROOT);
+        context.markDone(ROOT + "stored/");
+
+        CrawlContext resumed = newContext();
+        resumed.restore(context.checkpoint(), List.of("/stored/"));
+
+        assertThat(resumed.getSeeds()).containsOnlyKeys(ROOT + "stored/");
+        assertThat(resumed.markVisited(ROOT + "stored/", 0)).isTrue();
+    }
+
+    @Test
+    void pageBudgetReservesExactlyMaxPagesFetches() {
+        BudgetSettings budget = new BudgetSettings();
+        budget.setMaxPages(2);
+        crawlerSettings.setBudget(budget);
+        CrawlContext context = newContext();
+
+        assertThat(context.reserveFetch()).isTrue();
+        assertThat(context.getBudgetReached()).isNull();
+        assertThat(context.reserveFetch()).isTrue();
+        assertThat(context.getBudgetReached()).isNotNull();
+        assertThat(context.reserveFetch()).isFalse();
+        assertThat(context.isActive()).isFalse();
+        assertThat(context.isStopped()).isFalse();
+    }
+
+    @Test
+    void byteBudgetStopsFurtherFetches() {
+        BudgetSettings budget = new BudgetSettings();
+        budget.setMaxBytes(100);
+        crawlerSettings.setBudget(budget);
+        CrawlContext context = newContext();
+
+        assertThat(context.reserveFetch()).isTrue();
+        context.recordFetch(150);
+        assertThat(context.reserveFetch()).isFalse();
+        assertThat(context.getBudgetReached()).isNotNull();
+    }
+}
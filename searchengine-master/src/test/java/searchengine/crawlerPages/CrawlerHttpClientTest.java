@@ -0,0 +1,100 @@
+package searchengine.crawlerPages;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import searchengine.config.CrawlerSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CrawlerHttpClientTest {
+    private HttpServer server;
+    private CrawlerHttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/drip", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < 50; i++) {
+                    body.write('x');
+                    body.flush();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException | IOException ignored) {
+            }
+        });
+        server.createContext("/large", exchange -> {
+            exchange.sendResponseHeaders(200, 10_000);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(new byte[10_000]);
+            } catch (IOException ignored) {
+            }
+        });
+        server.createContext("/moved", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/target");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.createContext("/target", exchange -> {
+            exchange.sendResponseHeaders(200, 2);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write("ok".getBytes());
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        CrawlerSettings crawlerSettings = new CrawlerSettings();
+        crawlerSettings.getHttp().setHttp2(false);
+        crawlerSettings.getHttp().setReadTimeout(1000);
+        client = new CrawlerHttpClient(crawlerSettings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void slowBodyFailsAfterReadTimeout() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> client.get(baseUrl + "/drip", Map.of(), 1_000_000, headers -> true))
+                .isInstanceOf(HttpTimeoutException.class);
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(4000);
+    }
+
+    @Test
+    void bodyIsCutAtLimit() throws IOException {
+        CrawlerResponse response = client.get(baseUrl + "/large", Map.of(), 100, headers -> true);
+
+        assertThat(response.getBody().readAllBytes()).hasSize(100);
+    }
+
+    @Test
+    void rejectedBodyIsNotRead() throws IOException {
+        CrawlerResponse response = client.get(baseUrl + "/large", Map.of(), 100, headers -> false);
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    @Test
+    void responseCarriesUrlAfterRedirect() throws IOException {
+        CrawlerResponse response = client.get(baseUrl + "/moved", Map.of(), 100, headers -> true);
+
+        assertThat(response.getUri()).isEqualTo(baseUrl + "/target");
+        assertThat(new String(response.getBody().readAllBytes())).isEqualTo("ok");
+    }
+}
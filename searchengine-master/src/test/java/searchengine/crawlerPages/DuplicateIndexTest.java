@@ -0,0 +1,97 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateIndexTest {
+
+    @Test
+    void findsExactHash() {
+        DuplicateIndex index = new DuplicateIndex(3);
+        index.add(0x0123_4567_89ab_cdefL, 7);
+
+        assertThat(index.find(0x0123_4567_89ab_cdefL)).isEqualTo(7L);
+    }
+
+    @Test
+    void findsHashWithDifferencesSpreadOverAllButOneBlock() {
+        DuplicateIndex index = new DuplicateIndex(3);
+        long simHash = 0x0123_4567_89ab_cdefL;
+        index.add(simHash, 1);
+
+        // Четыре блока по 16 бит: три различия в трёх разных блоках оставляют один блок целым.
+        long near = simHash ^ (1L << 2) ^ (1L << 20) ^ (1L << 40);
+
+        assertThat(index.find(near)).isEqualTo(1L);
+    }
+
+    @Test
+    void ignoresHashBeyondMaxDistance() {
+        DuplicateIndex index = new DuplicateIndex(3);
+        long simHash = 0x0123_4567_89ab_cdefL;
+        index.add(simHash, 1);
+
+        long far = simHash ^ 0b1111L;
+
+        assertThat(index.find(far)).isNull();
+    }
+
+    @Test
+    void findsEveryHashWithinDistanceForRandomFlips() {
+        Random random = new Random(42);
+        for (int maxDistance = 0; maxDistance <= 6; maxDistance++) {
+            DuplicateIndex index = new DuplicateIndex(maxDistance);
+            for (int pageId = 0; pageId < 200; pageId++) {
+                long simHash = random.nextLong();
+                index.add(simHash, pageId);
+                long near = simHash;
+                for (int flip = 0; flip < maxDistance; flip++) {
+                    near ^= 1L << random.nextInt(64);
+                }
+                assertThat(index.find(near)).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    void zeroDistanceMatchesOnlyIdenticalHashes() {
+        DuplicateIndex index = new DuplicateIndex(0);
+        index.add(42L, 1);
+
+        assertThat(index.find(42L)).isEqualTo(1L);
+        assertThat(index.find(43L)).isNull();
+    }
+
+    @Test
+    void sixtyThreeDifferencesAreFoundWithSingleBitBlocks() {
+        DuplicateIndex index = new DuplicateIndex(63);
+        index.add(0L, 1);
+
+        assertThat(index.find(-1L >>> 1)).isEqualTo(1L);
+        assertThat(index.find(-1L)).isNull();
+    }
+
+    @Test
+    void distanceOfSixtyFourOrMoreMatchesAnyPage() {
+        DuplicateIndex index = new DuplicateIndex(100);
+        index.add(0L, 1);
+
+        assertThat(index.find(-1L)).isEqualTo(1L);
+    }
+
+    @Test
+    void removedPageIsNoLongerFound() {
+        DuplicateIndex index = new DuplicateIndex(3);
+        index.add(42L, 1);
+        index.add(42L, 2);
+
+        index.remove(42L, 1);
+
+        assertThat(index.find(42L)).isEqualTo(2L);
+        index.remove(42L, 2);
+        assertThat(index.find(42L)).isNull();
+    }
+}
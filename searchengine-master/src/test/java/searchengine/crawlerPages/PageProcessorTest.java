@@ -0,0 +1,153 @@
+package searchengine.crawlerPages;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.Site;
+import searchengine.dto.objects.PageDto;
+import searchengine.lemmizer.Lemmizer;
+import searchengine.model.PageModel;
+import searchengine.services.PageCRUDService;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PageProcessorTest {
+    private static final String PAGE_URL = "https://example.com/a/";
+
+    private final CrawlerSettings crawlerSettings = new CrawlerSettings();
+    private final ContentExtractor contentExtractor = new ContentExtractor(crawlerSettings);
+    private final PageCRUDService pageCRUDService = mock(PageCRUDService.class);
+    private final PageFetcher pageFetcher = mock(PageFetcher.class);
+    private final PageProcessor pageProcessor = new PageProcessor(pageCRUDService, mock(Lemmizer.class),
+            pageFetcher, crawlerSettings, contentExtractor);
+
+    @Test
+    void hashesDoNotDependOnTemplateStatistics() {
+        PageDto first = pageProcessor.createPageDto(page(0));
+        for (int i = 1; i < 10; i++) {
+            pageProcessor.createPageDto(page(i));
+        }
+        PageDto again = pageProcessor.createPageDto(page(0));
+
+        assertThat(again.getText()).isNotEqualTo(first.getText());
+        assertThat(again.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(again.getSimHash()).isEqualTo(first.getSimHash());
+    }
+
+    @Test
+    void clearResetsTemplateStatistics() {
+        PageDto first = pageProcessor.createPageDto(page(0));
+        for (int i = 1; i < 10; i++) {
+            pageProcessor.createPageDto(page(i));
+        }
+        contentExtractor.clear();
+
+        assertThat(pageProcessor.createPageDto(page(0)).getText()).isEqualTo(first.getText());
+    }
+
+    @Test
+    void storesHtmlAndPathWithQuery() {
+        PageDto pageDto = pageProcessor.createPageDto(new FetchResult("https://example.com/list/?page=2", 200,
+                Map.of(), Jsoup.parse("<p>one two three four</p>", "https://example.com/list/?page=2"), 10));
+
+        assertThat(pageDto.getSite()).isEqualTo("https://example.com");
+        assertThat(pageDto.getPath()).isEqualTo("/list/?page=2");
+        assertThat(pageDto.getContent()).contains("<p>one two three four</p>");
+    }
+
+    @Test
+    void longPathsAreCappedToColumnLength() {
+        String query = "?q=" + "x".repeat(2000);
+        String path = PageProcessor.getPagePath(URI.create("https://example.com/search/" + query));
+        String other = PageProcessor.getPagePath(URI.create("https://example.com/search/" + query + "y"));
+
+        assertThat(path).hasSize(PageModel.MAX_PATH_LENGTH).startsWith("/search/?q=xxx");
+        assertThat(other).hasSize(PageModel.MAX_PATH_LENGTH).isNotEqualTo(path);
+        assertThat(PageProcessor.getPagePath(URI.create("https://example.com/search/" + query))).isEqualTo(path);
+        assertThat(PageProcessor.getPagePath(URI.create("https://example.com/a/?b=1"))).isEqualTo("/a/?b=1");
+    }
+
+    @Test
+    void notModifiedPageYieldsStoredLinks() throws Exception {
+        PageDto knownPage = knownPage();
+        CrawlContext context = newContext(knownPage);
+        when(pageFetcher.fetch(PAGE_URL, knownPage)).thenReturn(new FetchResult(PAGE_URL, 304, Map.of(), null, 0));
+        when(pageCRUDService.getLinks(5L)).thenReturn(List.of("https://example.com/b/", "https://other.com/c/"));
+
+        FetchResult fetchResult = pageProcessor.fetch(context, PAGE_URL);
+
+        assertThat(pageProcessor.extractLinks(context, fetchResult)).containsExactly("https://example.com/b/");
+        verify(pageFetcher, never()).fetch(PAGE_URL, null);
+    }
+
+    @Test
+    void notModifiedPageWithoutStoredLinksIsFetchedAgain() throws Exception {
+        PageDto knownPage = knownPage();
+        CrawlContext context = newContext(knownPage);
+        when(pageFetcher.fetch(PAGE_URL, knownPage)).thenReturn(new FetchResult(PAGE_URL, 304, Map.of(), null, 0));
+        when(pageFetcher.fetch(PAGE_URL, null)).thenReturn(new FetchResult(PAGE_URL, 200, Map.of(),
+                Jsoup.parse("<a href=\"/b/\">b</a>", PAGE_URL), 10));
+        when(pageCRUDService.getLinks(5L)).thenReturn(null);
+
+        FetchResult fetchResult = pageProcessor.fetch(context, PAGE_URL);
+
+        assertThat(fetchResult.hasDocument()).isTrue();
+        assertThat(pageProcessor.extractLinks(context, fetchResult)).containsExactly("https://example.com/b/");
+    }
+
+    @Test
+    void goneKnownPageIsDeleted() throws Exception {
+        PageDto knownPage = knownPage();
+        when(pageFetcher.fetch(PAGE_URL, knownPage)).thenThrow(new HttpStatusException("gone", 410, PAGE_URL));
+
+        assertThatThrownBy(() -> pageProcessor.fetch(newContext(knownPage), PAGE_URL))
+                .isInstanceOf(HttpStatusException.class);
+        verify(pageCRUDService).delete(5L);
+    }
+
+    @Test
+    void forbiddenKnownPageKeepsNewStatus() throws Exception {
+        PageDto knownPage = knownPage();
+        when(pageFetcher.fetch(PAGE_URL, knownPage)).thenThrow(new HttpStatusException("forbidden", 403, PAGE_URL));
+
+        assertThatThrownBy(() -> pageProcessor.fetch(newContext(knownPage), PAGE_URL))
+                .isInstanceOf(HttpStatusException.class);
+        verify(pageCRUDService).updateCode(5L, 403);
+        verify(pageCRUDService, never()).delete(5L);
+    }
+
+    private CrawlContext newContext(PageDto knownPage) {
+        Site site = new Site();
+        site.setUrl("https://example.com");
+        site.setName("example");
+        CrawlContext context = new CrawlContext(site, "site", new AtomicBoolean(true), crawlerSettings);
+        context.setKnownPages(Map.of(knownPage.getPath(), knownPage));
+        return context;
+    }
+
+    private static PageDto knownPage() {
+        PageDto pageDto = new PageDto();
+        pageDto.setId(5L);
+        pageDto.setPath("/a/");
+        pageDto.setEtag("\"v1\"");
+        return pageDto;
+    }
+
+    private static FetchResult page(int number) {
+        String url = "https://example.com/page" + number + "/";
+        String html = "<div class=\"shell\"><p>Company news and all the latest offers for you</p>"
+                + "<p>Article number " + number + " tells a long and unique story about item " + number + "</p></div>";
+        return new FetchResult(url, 200, Map.of(), Jsoup.parse(html, url), html.length());
+    }
+}
@@ -0,0 +1,158 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RobotsRulesTest {
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; SearchBot/1.0)";
+
+    @Test
+    void ownGroupReplacesDefaultGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /
+
+                User-agent: searchbot
+                Disallow: /private
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/public")).isTrue();
+        assertThat(rules.isAllowed("/private/page")).isFalse();
+    }
+
+    @Test
+    void defaultGroupAppliesWhenAgentIsNotListed() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: otherbot
+                Disallow: /
+
+                User-agent: *
+                Disallow: /tmp
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/")).isTrue();
+        assertThat(rules.isAllowed("/tmp/file")).isFalse();
+    }
+
+    @Test
+    void fullConfiguredAgentMatchesGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: SEARCH_BOT
+                Disallow: /admin
+                """, "SEARCH_BOT");
+
+        assertThat(rules.isAllowed("/admin")).isFalse();
+    }
+
+    @Test
+    void emptyOwnGroupAllowsEverything() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /
+
+                User-agent: SearchBot
+                Disallow:
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/page")).isTrue();
+    }
+
+    @Test
+    void browserTokensDoNotSelectGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: Mozilla
+                Disallow: /
+
+                User-agent: compatible
+                Disallow: /
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/page")).isTrue();
+    }
+
+    @Test
+    void leadingProductTokenSelectsGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: searchbot
+                Disallow: /private
+                """, "SearchBot/2.1 (+https://example.com/bot)");
+
+        assertThat(rules.isAllowed("/private")).isFalse();
+    }
+
+    @Test
+    void consecutiveAgentLinesShareOneGroup() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: otherbot
+                User-agent: SearchBot
+                Disallow: /shared
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/shared")).isFalse();
+    }
+
+    @Test
+    void longestMatchWinsAndAllowWinsTies() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /catalog
+                Allow: /catalog/public
+                Disallow: /same
+                Allow: /same
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/catalog/item")).isFalse();
+        assertThat(rules.isAllowed("/catalog/public/item")).isTrue();
+        assertThat(rules.isAllowed("/same")).isTrue();
+    }
+
+    @Test
+    void wildcardAndEndAnchor() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /*.pdf$
+                Disallow: /*?sort=
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/docs/file.pdf")).isFalse();
+        assertThat(rules.isAllowed("/docs/file.pdf?download=1")).isTrue();
+        assertThat(rules.isAllowed("/list?sort=price")).isFalse();
+        assertThat(rules.isAllowed("/list?page=2")).isTrue();
+    }
+
+    @Test
+    void regexCharactersInRulesAreLiteral() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /a+b(c)
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/a+b(c)/x")).isFalse();
+        assertThat(rules.isAllowed("/aab")).isTrue();
+    }
+
+    @Test
+    void emptyDisallowAllowsEverything() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow:
+                """, USER_AGENT);
+
+        assertThat(rules.isAllowed("/anything")).isTrue();
+    }
+
+    @Test
+    void crawlDelayAndSitemapsAreParsed() {
+        RobotsRules rules = RobotsRules.parse("""
+                Sitemap: https://example.com/sitemap.xml
+                User-agent: *
+                Crawl-delay: 0.5 # seconds
+                Sitemap: https://example.com/news.xml
+                """, USER_AGENT);
+
+        assertThat(rules.getCrawlDelay()).isEqualTo(500);
+        assertThat(rules.getSitemaps())
+                .containsExactly("https://example.com/sitemap.xml", "https://example.com/news.xml");
+    }
+}
@@ -0,0 +1,64 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashTest {
+    private static final String ARTICLE = """
+            Галерея представляет новую выставку современного искусства. В экспозиции собраны
+            работы молодых художников из разных городов, живопись, графика и скульптура.
+            Выставка продлится до конца месяца, вход свободный для всех посетителей галереи.
+            Экскурсии проводятся по выходным дням, запись на экскурсию принимается по телефону.
+            """;
+
+    @Test
+    void sameTextGivesSameHash() {
+        assertThat(SimHash.compute(ARTICLE, 3)).isEqualTo(SimHash.compute(ARTICLE, 3));
+    }
+
+    @Test
+    void caseAndPunctuationAreIgnored() {
+        String noisy = ARTICLE.toUpperCase().replace(",", " ;; ").replace(".", "!!!");
+
+        assertThat(SimHash.compute(noisy, 3)).isEqualTo(SimHash.compute(ARTICLE, 3));
+    }
+
+    @Test
+    void textWithoutWordsHashesToZero() {
+        assertThat(SimHash.compute("", 3)).isZero();
+        assertThat(SimHash.compute(" .,;- ", 3)).isZero();
+    }
+
+    @Test
+    void textShorterThanShingleIsHashed() {
+        assertThat(SimHash.compute("одно слово", 5)).isNotZero();
+    }
+
+    @Test
+    void smallEditKeepsHashClose() {
+        String edited = ARTICLE.replace("конца месяца", "середины месяца");
+
+        assertThat(SimHash.distance(SimHash.compute(ARTICLE, 3), SimHash.compute(edited, 3)))
+                .isLessThanOrEqualTo(12);
+    }
+
+    @Test
+    void unrelatedTextsAreFarApart() {
+        String other = """
+                The observatory publishes nightly measurements of atmospheric turbulence and seeing
+                conditions. Data are collected by an automated telescope and archived for researchers
+                studying adaptive optics, instrument calibration and long term climate trends.
+                """;
+
+        assertThat(SimHash.distance(SimHash.compute(ARTICLE, 3), SimHash.compute(other, 3)))
+                .isGreaterThan(12);
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertThat(SimHash.distance(0L, 0L)).isZero();
+        assertThat(SimHash.distance(0L, -1L)).isEqualTo(64);
+        assertThat(SimHash.distance(0b1010L, 0b0110L)).isEqualTo(2);
+    }
+}
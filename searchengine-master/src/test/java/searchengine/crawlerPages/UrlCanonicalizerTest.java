@@ -0,0 +1,116 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.CanonicalSettings;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+    private final UrlCanonicalizer canonicalizer = new UrlCanonicalizer(new CanonicalSettings());
+
+    @Test
+    void lowercasesSchemeAndHostAndDropsDefaultPort() {
+        assertThat(canonicalizer.canonicalize("HTTP://Example.COM:80/Path"))
+                .isEqualTo("http://example.com/Path/");
+        assertThat(canonicalizer.canonicalize("https://example.com.:443/"))
+                .isEqualTo("https://example.com/");
+        assertThat(canonicalizer.canonicalize("https://example.com:8443/"))
+                .isEqualTo("https://example.com:8443/");
+    }
+
+    @Test
+    void normalizesDotSegmentsAndDuplicateSlashes() {
+        assertThat(canonicalizer.canonicalize("http://example.com/a//b/./c/../d"))
+                .isEqualTo("http://example.com/a/b/d/");
+        assertThat(canonicalizer.canonicalize("http://example.com/../../a"))
+                .isEqualTo("http://example.com/a/");
+        assertThat(canonicalizer.canonicalize("http://example.com"))
+                .isEqualTo("http://example.com/");
+    }
+
+    @Test
+    void uppercasesPercentEncoding() {
+        assertThat(canonicalizer.canonicalize("http://example.com/caf%c3%a9?q=%e2%82%ac"))
+                .isEqualTo("http://example.com/caf%C3%A9/?q=%E2%82%AC");
+        assertThat(canonicalizer.canonicalize("http://example.com/a b"))
+                .isEqualTo("http://example.com/a%20b/");
+    }
+
+    @Test
+    void lowercasePathKeepsPercentEncodingUppercase() {
+        CanonicalSettings settings = new CanonicalSettings();
+        settings.setLowercasePath(true);
+        UrlCanonicalizer lowercasing = new UrlCanonicalizer(settings);
+
+        assertThat(lowercasing.canonicalize("http://example.com/News/%d0%9f"))
+                .isEqualTo("http://example.com/news/%D0%9F/");
+    }
+
+    @Test
+    void stripsTrackingParamsAndSortsTheRest() {
+        assertThat(canonicalizer.canonicalize("http://example.com/?b=2&utm_source=x&a=1&GCLID=y&&"))
+                .isEqualTo("http://example.com/?a=1&b=2");
+        assertThat(canonicalizer.canonicalize("http://example.com/?utm_medium=x"))
+                .isEqualTo("http://example.com/");
+    }
+
+    @Test
+    void genericParamsAreStrippedOnlyWhenConfigured() {
+        assertThat(canonicalizer.canonicalize("http://example.com/?ref=main&from=2020&sid=7&fbclid=z"))
+                .isEqualTo("http://example.com/?from=2020&ref=main&sid=7");
+
+        CanonicalSettings settings = new CanonicalSettings();
+        settings.getStripParams().addAll(List.of("ref", "sid"));
+
+        assertThat(new UrlCanonicalizer(settings).canonicalize("http://example.com/?ref=main&from=2020&sid=7"))
+                .isEqualTo("http://example.com/?from=2020");
+    }
+
+    @Test
+    void keepParamsOverridesStripList() {
+        CanonicalSettings settings = new CanonicalSettings();
+        settings.setKeepParams(List.of("page"));
+        UrlCanonicalizer keeping = new UrlCanonicalizer(settings);
+
+        assertThat(keeping.canonicalize("http://example.com/list?sort=asc&page=2"))
+                .isEqualTo("http://example.com/list/?page=2");
+    }
+
+    @Test
+    void dropQueryRemovesAllParams() {
+        CanonicalSettings settings = new CanonicalSettings();
+        settings.setDropQuery(true);
+
+        assertThat(new UrlCanonicalizer(settings).canonicalize("http://example.com/a?page=2"))
+                .isEqualTo("http://example.com/a/");
+    }
+
+    @Test
+    void removesIndexFiles() {
+        assertThat(canonicalizer.canonicalize("http://example.com/docs/Index.HTML"))
+                .isEqualTo("http://example.com/docs/");
+        assertThat(canonicalizer.canonicalize("http://example.com/index.php?id=1"))
+                .isEqualTo("http://example.com/?id=1");
+    }
+
+    @Test
+    void trailingSlashCanBeDisabled() {
+        CanonicalSettings settings = new CanonicalSettings();
+        settings.setTrailingSlash(false);
+
+        assertThat(new UrlCanonicalizer(settings).canonicalize("http://example.com/page.html"))
+                .isEqualTo("http://example.com/page.html");
+    }
+
+    @Test
+    void rejectsUnsupportedAndMalformedUrls() {
+        assertThat(canonicalizer.canonicalize(null)).isNull();
+        assertThat(canonicalizer.canonicalize("  ")).isNull();
+        assertThat(canonicalizer.canonicalize("mailto:admin@example.com")).isNull();
+        assertThat(canonicalizer.canonicalize("ftp://example.com/file")).isNull();
+        assertThat(canonicalizer.canonicalize("http://exa mple.com/")).isNull();
+        assertThat(canonicalizer.canonicalize("http://example.com/%zz")).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package searchengine.crawlerPages;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.VisitedSettings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisitedUrlSetTest {
+
+    private static VisitedSettings settings(long memoryBudget, boolean bloomFilter, long bloomFilterSize) {
+        VisitedSettings settings = new VisitedSettings();
+        settings.setMemoryBudget(memoryBudget);
+        settings.setBloomFilter(bloomFilter);
+        settings.setBloomFilterSize(bloomFilterSize);
+        return settings;
+    }
+
+    @Test
+    void addReportsOnlyFirstVisit() {
+        VisitedUrlSet visited = new VisitedUrlSet(new VisitedSettings());
+
+        assertThat(visited.add("https://example.com/a")).isTrue();
+        assertThat(visited.add("https://example.com/a")).isFalse();
+        assertThat(visited.add("https://example.com/b")).isTrue();
+        assertThat(visited.size()).isEqualTo(2);
+    }
+
+    @Test
+    void zeroFingerprintIsStoredAsNonEmptySlot() {
+        VisitedUrlSet visited = new VisitedUrlSet(new VisitedSettings());
+
+        assertThat(visited.add(0L)).isTrue();
+        assertThat(visited.add(0L)).isFalse();
+        assertThat(visited.toArray()).containsExactly(1L);
+    }
+
+    @Test
+    void exactTableStopsAcceptingAtBudgetWithoutBloomFilter() {
+        VisitedUrlSet visited = new VisitedUrlSet(settings(0, false, 0));
+
+        int accepted = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (visited.add("https://example.com/page/" + i)) {
+                accepted++;
+            }
+        }
+
+        assertThat(visited.size()).isEqualTo(accepted).isLessThan(20_000);
+        assertThat(visited.add("https://example.com/page/0")).isFalse();
+    }
+
+    @Test
+    void bloomFilterTakesOverWhenExactTableIsFull() {
+        VisitedUrlSet visited = new VisitedUrlSet(settings(0, true, 1024 * 1024));
+
+        int accepted = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (visited.add("https://example.com/page/" + i)) {
+                accepted++;
+            }
+        }
+
+        assertThat(accepted).isGreaterThan(19_900);
+        for (int i = 0; i < 20_000; i += 97) {
+            assertThat(visited.add("https://example.com/page/" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void oversizedBloomFilterIsCappedAndUsable() {
+        VisitedUrlSet visited = new VisitedUrlSet(settings(0, true, 4L * 1024 * 1024 * 1024));
+
+        assertThat(visited.memoryBytes()).isLessThanOrEqualTo(256L * 1024 * 1024 + 16 * 1024 * Long.BYTES);
+        for (int i = 0; i < 20_000; i++) {
+            visited.add("https://example.com/page/" + i);
+        }
+        assertThat(visited.add("https://example.com/page/19999")).isFalse();
+    }
+
+    @Test
+    void toArrayReturnsExactFingerprints() {
+        VisitedUrlSet visited = new VisitedUrlSet(new VisitedSettings());
+        visited.add("https://example.com/a");
+        visited.add("https://example.com/b");
+
+        assertThat(visited.toArray()).containsExactlyInAnyOrder(
+                VisitedUrlSet.fingerprint("https://example.com/a"),
+                VisitedUrlSet.fingerprint("https://example.com/b"));
+    }
+
+    @Test
+    void releasedSetRejectsEverything() {
+        VisitedUrlSet visited = new VisitedUrlSet(new VisitedSettings());
+        visited.add("https://example.com/a");
+
+        visited.release();
+
+        assertThat(visited.size()).isZero();
+        assertThat(visited.add("https://example.com/b")).isFalse();
+    }
+}
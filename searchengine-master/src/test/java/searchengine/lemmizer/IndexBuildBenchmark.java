@@ -0,0 +1,87 @@
+package searchengine.lemmizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import searchengine.dto.objects.IndexDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время построения строк индекса для одной страницы: поиск id леммы по карте
+ * против прежнего линейного поиска по спискам созданных и обновлённых лемм.
+ * Запуск: {@code mvn test-compile}, затем {@link #main} из IDE или через
+ * {@code java -cp target/test-classes:<test classpath> searchengine.lemmizer.IndexBuildBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBuildBenchmark {
+    @Param({"100", "1000", "5000"})
+    private int distinctLemmas;
+
+    private Map<String, Integer> lemmaCounts;
+    private Map<String, Long> lemmaIds;
+    private List<LemmaId> createdLemmas;
+    private List<LemmaId> updatedLemmas;
+
+    @Setup
+    public void setUp() {
+        lemmaCounts = new HashMap<>();
+        lemmaIds = new HashMap<>();
+        createdLemmas = new ArrayList<>();
+        updatedLemmas = new ArrayList<>();
+        for (int i = 0; i < distinctLemmas; i++) {
+            String lemma = "лемма" + i;
+            lemmaCounts.put(lemma, i % 7 + 1);
+            lemmaIds.put(lemma, (long) i + 1);
+            (i % 2 == 0 ? createdLemmas : updatedLemmas).add(new LemmaId(lemma, i + 1));
+        }
+    }
+
+    @Benchmark
+    public Set<IndexDto> hashJoin() {
+        return Lemmizer.buildIndex(1L, lemmaCounts, lemmaIds);
+    }
+
+    @Benchmark
+    public Set<IndexDto> linearScan() {
+        Set<IndexDto> dtos = new HashSet<>();
+        lemmaCounts.forEach((lemmaName, count) -> {
+            Optional<LemmaId> lemma = createdLemmas.stream().filter(it -> it.lemma().equals(lemmaName)).findFirst();
+            if (lemma.isEmpty()) {
+                lemma = updatedLemmas.stream().filter(it -> it.lemma().equals(lemmaName)).findFirst();
+            }
+            dtos.add(new IndexDto(1L, lemma.orElseThrow().id(), count));
+        });
+        return dtos;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IndexBuildBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private record LemmaId(String lemma, int id) {
+    }
+}
@@ -0,0 +1,32 @@
+package searchengine.lemmizer;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import searchengine.dto.objects.IndexDto;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LemmizerIndexTest {
+
+    @Test
+    void buildsOneRowPerLemmaWithItsIdAndCount() {
+        Set<IndexDto> index = Lemmizer.buildIndex(7L,
+                Map.of("дом", 3, "house", 1),
+                Map.of("дом", 11L, "house", 12L, "unused", 13L));
+
+        assertThat(index)
+                .extracting(IndexDto::getPageId, IndexDto::getLemmaId, IndexDto::getRankValue)
+                .containsExactlyInAnyOrder(tuple(7L, 11, 3f), tuple(7L, 12, 1f));
+    }
+
+    @Test
+    void failsWhenLemmaHasNoId() {
+        assertThatThrownBy(() -> Lemmizer.buildIndex(7L, Map.of("дом", 3), Map.of()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package searchengine.repositories;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import searchengine.dto.objects.IndexDto;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Строк индекса в секунду при сохранении страницы: прежняя запись через JPA
+ * (для каждой строки SELECT по составному ключу и отдельный INSERT) против
+ * пакетной вставки {@link IndexBatchRepository}.
+ * По умолчанию работает с H2 в режиме MySQL; для MySQL укажите отдельную схему, таблица index_table очищается:
+ * {@code -p jdbcUrl=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true -p user=root -p password=}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexInsertBenchmark {
+    private static final int ROWS = 1000;
+    private static final String SELECT_SQL =
+            "SELECT rank_value FROM index_table WHERE page_id = ? AND lemma_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO index_table (page_id, lemma_id, rank_value) VALUES (?, ?, ?)";
+
+    @Param("jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    private String jdbcUrl;
+    @Param("sa")
+    private String user;
+    @Param("")
+    private String password;
+
+    private SingleConnectionDataSource dataSource;
+    private Connection connection;
+    private IndexBatchRepository repository;
+    private long pageId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(jdbcUrl, user, password, true);
+        connection = dataSource.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS index_table (page_id BIGINT NOT NULL, "
+                + "lemma_id INT NOT NULL, rank_value FLOAT NOT NULL, PRIMARY KEY (page_id, lemma_id))");
+        connection.setAutoCommit(false);
+        repository = new IndexBatchRepository(jdbcTemplate);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM index_table")) {
+            statement.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perRowInsert() throws SQLException {
+        long page = ++pageId;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (int lemma = 0; lemma < ROWS; lemma++) {
+                select.setLong(1, page);
+                select.setInt(2, lemma);
+                try (ResultSet ignored = select.executeQuery()) {
+                    insert.setLong(1, page);
+                    insert.setInt(2, lemma);
+                    insert.setFloat(3, lemma % 7 + 1);
+                    insert.executeUpdate();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void batchInsert() throws SQLException {
+        long page = ++pageId;
+        List<IndexDto> rows = new ArrayList<>(ROWS);
+        for (int lemma = 0; lemma < ROWS; lemma++) {
+            rows.add(new IndexDto(page, lemma, lemma % 7 + 1));
+        }
+        repository.insert(rows);
+        connection.commit();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(IndexInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}